@@ -33,6 +33,7 @@ import org.destinationsol.game.ship.AbilityConfig;
 import org.destinationsol.game.ship.ShipAbility;
 import org.destinationsol.game.ship.SolShip;
 import org.destinationsol.game.ship.hulls.HullConfig;
+import org.destinationsol.warp.research.systems.WormholeNavigator;
 import org.json.JSONObject;
 
 public class SummonMercenariesAbility implements ShipAbility {
@@ -61,8 +62,11 @@ public class SummonMercenariesAbility implements ShipAbility {
                 ShipConfig mercConfig = mercenary.getConfig();
                 Guardian guardian = new Guardian(game, mercConfig.hull, owner.getPilot(), owner.getPosition(),
                         owner.getHull().config, SolRandom.randomFloat(180));
-                AiPilot pilot = new AiPilot(guardian, true, owner.getPilot().getFaction(), false,
-                        "Merc", Const.AI_DET_DIST);
+                // Mercenaries follow their owner through wormholes, if that is faster than flying after them.
+                WormholeNavigator navigator = new WormholeNavigator(guardian);
+                AiPilot pilot = new AiPilot(navigator, true, owner.getPilot().getFaction(), false, "Merc",
+                        Const.AI_DET_DIST);
+                navigator.setPilot(pilot);
                 Vector2 position = getPos(game, owner, mercConfig.hull);
                 if (position == null) {
                     return false;
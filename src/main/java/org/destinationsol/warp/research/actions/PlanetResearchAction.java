@@ -52,6 +52,11 @@ public class PlanetResearchAction implements ResearchAction {
         return 0;
     }
 
+    @Override
+    public float getProgress() {
+        return research;
+    }
+
     /**
      * Checks if the research has been completed
      *
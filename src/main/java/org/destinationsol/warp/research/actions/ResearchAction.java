@@ -36,6 +36,14 @@ public interface ResearchAction {
      */
     float doResearch(SolGame game, SolShip researchShip);
 
+    /**
+     * Obtains the research done so far for this activity.
+     * @return the research quantity
+     */
+    default float getProgress() {
+        return isResearchComplete() ? getMaxYield() : 0;
+    }
+
     /**
      * Checks if the research has been completed
      * @return if the research has been completed
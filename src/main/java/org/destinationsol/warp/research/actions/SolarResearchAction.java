@@ -18,6 +18,7 @@ package org.destinationsol.warp.research.actions;
 import org.destinationsol.game.SolGame;
 import org.destinationsol.game.planet.SolarSystem;
 import org.destinationsol.game.ship.SolShip;
+import org.destinationsol.world.generators.SolarSystemGenerator;
 
 public class SolarResearchAction implements ResearchAction {
     private static final float SOLAR_YIELD = 6.0f;
@@ -48,15 +49,21 @@ public class SolarResearchAction implements ResearchAction {
      */
     @Override
     public float doResearch(SolGame game, SolShip researchShip) {
-        if (isResearchComplete()) {
+        float sunDistance = solarSystem.getPosition().dst(researchShip.getPosition());
+        if (sunDistance >= SolarSystemGenerator.SUN_RADIUS || isResearchComplete()) {
             return 0;
         }
 
-        float research = (SOLAR_YIELD / (solarSystem.getPosition().dst(researchShip.getPosition()) * RESEARCH_DISTANCE_RATE) * game.getTimeStep());
+        float research = (SOLAR_YIELD / (sunDistance * RESEARCH_DISTANCE_RATE) * game.getTimeStep());
         currentSolarYield += research;
         return research;
     }
 
+    @Override
+    public float getProgress() {
+        return currentSolarYield;
+    }
+
     /**
      * Checks if the research has been completed
      *
@@ -60,6 +60,11 @@ public class WormholeResearchAction implements ResearchAction {
         return yield;
     }
 
+    @Override
+    public float getProgress() {
+        return currentYield;
+    }
+
     /**
      * Checks if the research has been completed
      *
@@ -26,6 +26,10 @@ import java.util.HashMap;
 import java.util.Map;
 
 public class PlanetResearchProvider implements ResearchProvider {
+    /**
+     * The nearest planet is looked up at 10 Hz, which is frequent enough to notice arriving at another planet.
+     */
+    private static final float RESEARCH_INTERVAL = 0.1f;
     private Map<Planet, ResearchAction> planetResearchMap = new HashMap<Planet, ResearchAction>();
 
     public String getName() {
@@ -39,12 +43,17 @@ public class PlanetResearchProvider implements ResearchProvider {
      */
     @Override
     public boolean canProvideResearch(SolGame game, SolShip researchShip) {
-        Planet nearestPlanet = game.getPlanetManager().getNearestPlanet(researchShip.getPosition());
+        return canProvideResearch(new ResearchContext(game, researchShip));
+    }
 
-        if (!nearestPlanet.isNearGround(researchShip.getPosition())) {
+    @Override
+    public boolean canProvideResearch(ResearchContext context) {
+        if (!context.isNearGround()) {
             return false;
         }
 
+        Planet nearestPlanet = context.getNearestPlanet();
+
         if (planetResearchMap.containsKey(nearestPlanet)) {
             // The planet has been researched
             return !planetResearchMap.get(nearestPlanet).isResearchComplete();
@@ -63,20 +72,25 @@ public class PlanetResearchProvider implements ResearchProvider {
      */
     @Override
     public ResearchAction getAction(SolGame game, SolShip researchShip) {
-        Planet nearestPlanet = game.getPlanetManager().getNearestPlanet(researchShip.getPosition());
+        return getAction(new ResearchContext(game, researchShip));
+    }
+
+    @Override
+    public ResearchAction getAction(ResearchContext context) {
+        Planet nearestPlanet = context.getNearestPlanet();
         if (!planetResearchMap.containsKey(nearestPlanet)) {
-            String systemName = "<Unknown>";
-            for (SolarSystem system : game.getGalaxyBuilder().getBuiltSolarSystems()) {
-                if (system.getPlanets().contains(nearestPlanet)) {
-                    systemName = system.getName();
-                    break;
-                }
-            }
+            SolarSystem system = context.getSystemOf(nearestPlanet);
+            String systemName = system != null ? system.getName() : "<Unknown>";
             planetResearchMap.put(nearestPlanet, new PlanetResearchAction(nearestPlanet, systemName));
         }
         return planetResearchMap.get(nearestPlanet);
     }
 
+    @Override
+    public float getResearchInterval() {
+        return RESEARCH_INTERVAL;
+    }
+
     /**
      * Obtains the currently discovered research actions
      *
@@ -0,0 +1,212 @@
+/*
+ * Copyright 2026 The Terasology Foundation
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.destinationsol.warp.research.providers;
+
+import com.badlogic.gdx.math.Vector2;
+import com.badlogic.gdx.utils.IntArray;
+import org.destinationsol.game.SolGame;
+import org.destinationsol.game.planet.Planet;
+import org.destinationsol.game.planet.SolarSystem;
+import org.destinationsol.game.ship.SolShip;
+import org.destinationsol.warp.research.systems.PlanetSystemIndex;
+import org.destinationsol.warp.research.systems.WormholeDistortionProvider;
+
+/**
+ * The surroundings of a research ship, shared between all of the research providers for a single update.
+ *
+ * Each value is only looked up the first time that it is needed, so every spatial query runs at most once per ship
+ * per update, however many providers use it. A context is re-used between updates by calling
+ * {@link #set(SolGame, SolShip)}, which discards the previous values.
+ */
+public class ResearchContext {
+    /**
+     * The maximum distance from the research ship that a wormhole can be researched from.
+     */
+    public static final float WORMHOLE_RESEARCH_DISTANCE = 3.0f;
+
+    private final PlanetSystemIndex planetSystemIndex;
+    private SolGame game;
+    private SolShip researchShip;
+    private Planet nearestPlanet;
+    private boolean nearGround;
+    private boolean planetFound;
+    private SolarSystem nearestSystem;
+    private float sunDistance;
+    private boolean systemFound;
+    private final IntArray nearbyWormholes = new IntArray();
+    private WormholeDistortionProvider.DistortionObject nearestWormhole;
+    private boolean wormholesFound;
+
+    /**
+     * Creates a context without an index of the planets, so the solar system of a planet is found by searching the
+     * systems each time. This suits contexts that are only used briefly, where building an index would cost more.
+     */
+    public ResearchContext() {
+        this(null);
+    }
+
+    /**
+     * Creates a context that finds the solar systems of planets using an existing index.
+     * @param planetSystemIndex the index to use, which must belong to the game that the context is used in, or null
+     *                          to search the solar systems directly
+     */
+    public ResearchContext(PlanetSystemIndex planetSystemIndex) {
+        this.planetSystemIndex = planetSystemIndex;
+    }
+
+    public ResearchContext(SolGame game, SolShip researchShip) {
+        this();
+        set(game, researchShip);
+    }
+
+    /**
+     * Points the context at a research ship, discarding any values found for the previous one.
+     * @param game the game to research in
+     * @param researchShip the ship to research with
+     */
+    public void set(SolGame game, SolShip researchShip) {
+        this.game = game;
+        this.researchShip = researchShip;
+        planetFound = false;
+        systemFound = false;
+        wormholesFound = false;
+        nearestPlanet = null;
+        nearestSystem = null;
+        nearestWormhole = null;
+    }
+
+    public SolGame getGame() {
+        return game;
+    }
+
+    public SolShip getResearchShip() {
+        return researchShip;
+    }
+
+    /**
+     * Returns the planet nearest to the research ship
+     * @return the nearest planet
+     */
+    public Planet getNearestPlanet() {
+        findPlanet();
+        return nearestPlanet;
+    }
+
+    /**
+     * Returns true if the research ship is near to the ground of the nearest planet
+     * @return if the ship is near the ground
+     */
+    public boolean isNearGround() {
+        findPlanet();
+        return nearGround;
+    }
+
+    /**
+     * Returns the solar system nearest to the research ship
+     * @return the nearest solar system
+     */
+    public SolarSystem getNearestSystem() {
+        findSystem();
+        return nearestSystem;
+    }
+
+    /**
+     * Returns the distance from the research ship to the sun of the nearest solar system
+     * @return the distance to the nearest sun
+     */
+    public float getSunDistance() {
+        findSystem();
+        return sunDistance;
+    }
+
+    /**
+     * Returns the solar system that a planet belongs to, using the context's index of the galaxy if it has one.
+     * @param planet the planet to find
+     * @return the planet's solar system, or null if it is not in any of the built solar systems
+     */
+    public SolarSystem getSystemOf(Planet planet) {
+        if (planetSystemIndex == null) {
+            return PlanetSystemIndex.findSystem(game, planet);
+        }
+        return planetSystemIndex.getSystem(game, planet);
+    }
+
+    /**
+     * Returns the IDs of the spawned wormholes within {@link #WORMHOLE_RESEARCH_DISTANCE} of the research ship.
+     * The list is re-used, so it must not be modified or kept.
+     * @return the IDs of the nearby wormholes
+     */
+    public IntArray getNearbyWormholes() {
+        findWormholes();
+        return nearbyWormholes;
+    }
+
+    /**
+     * Returns the nearest enabled wormhole within {@link #WORMHOLE_RESEARCH_DISTANCE} of the research ship.
+     * @return the nearest wormhole, or null if there are none nearby
+     */
+    public WormholeDistortionProvider.DistortionObject getNearestWormhole() {
+        findWormholes();
+        return nearestWormhole;
+    }
+
+    private void findPlanet() {
+        if (planetFound) {
+            return;
+        }
+
+        Vector2 position = researchShip.getPosition();
+        nearestPlanet = game.getPlanetManager().getNearestPlanet(position);
+        nearGround = nearestPlanet.isNearGround(position);
+        planetFound = true;
+    }
+
+    private void findSystem() {
+        if (systemFound) {
+            return;
+        }
+
+        nearestSystem = game.getPlanetManager().getNearestSystem(researchShip.getPosition());
+        sunDistance = nearestSystem.getPosition().dst(researchShip.getPosition());
+        systemFound = true;
+    }
+
+    private void findWormholes() {
+        if (wormholesFound) {
+            return;
+        }
+
+        Vector2 position = researchShip.getPosition();
+        nearbyWormholes.clear();
+        WormholeDistortionProvider.getWormholesNear(position, WORMHOLE_RESEARCH_DISTANCE, nearbyWormholes);
+
+        float nearestDistance = Float.POSITIVE_INFINITY;
+        for (int i = 0; i < nearbyWormholes.size; i++) {
+            WormholeDistortionProvider.DistortionObject object =
+                    WormholeDistortionProvider.getWormholeObject(nearbyWormholes.get(i));
+            if (object == null) {
+                continue;
+            }
+
+            float distance = position.dst(object.getPosition());
+            if (distance < nearestDistance) {
+                nearestDistance = distance;
+                nearestWormhole = object;
+            }
+        }
+        wormholesFound = true;
+    }
+}
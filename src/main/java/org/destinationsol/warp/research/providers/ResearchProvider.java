@@ -37,6 +37,16 @@ public interface ResearchProvider {
      */
     boolean canProvideResearch(SolGame game, SolShip researchShip);
 
+    /**
+     * Returns true if the provider is currently capable of doing research. Providers should override this to use the
+     * values already found by the context, rather than looking them up again.
+     * @param context the surroundings of the ship to research with
+     * @return if the provided can currently do any research
+     */
+    default boolean canProvideResearch(ResearchContext context) {
+        return canProvideResearch(context.getGame(), context.getResearchShip());
+    }
+
     /**
      * Obtains the current research action
      * @param game the game to research in
@@ -45,6 +55,25 @@ public interface ResearchProvider {
      */
     ResearchAction getAction(SolGame game, SolShip researchShip);
 
+    /**
+     * Obtains the current research action. Providers should override this to use the values already found by the
+     * context, rather than looking them up again.
+     * @param context the surroundings of the ship to research with
+     * @return the current research action
+     */
+    default ResearchAction getAction(ResearchContext context) {
+        return getAction(context.getGame(), context.getResearchShip());
+    }
+
+    /**
+     * Returns how often the provider should look up its current research action, in seconds. In between, the action
+     * found last is still researched every frame, and checks for itself whether it can still do research.
+     * @return the time between look-ups, or 0 to look the action up every frame
+     */
+    default float getResearchInterval() {
+        return 0;
+    }
+
     /**
      * Obtains the currently discovered research actions
      * @return the currently discovered actions
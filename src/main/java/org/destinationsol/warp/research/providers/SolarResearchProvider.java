@@ -26,6 +26,10 @@ import java.util.HashMap;
 import java.util.Map;
 
 public class SolarResearchProvider implements ResearchProvider {
+    /**
+     * The nearest sun changes slowly, so it does not need to be looked up often.
+     */
+    private static final float RESEARCH_INTERVAL = 0.5f;
     private Map<SolarSystem, ResearchAction> solarResearchMap = new HashMap<SolarSystem, ResearchAction>();
 
     public String getName() {
@@ -41,10 +45,13 @@ public class SolarResearchProvider implements ResearchProvider {
      */
     @Override
     public boolean canProvideResearch(SolGame game, SolShip researchShip) {
-        SolarSystem nearestSystem = game.getPlanetManager().getNearestSystem(researchShip.getPosition());
-        float sunDistance = nearestSystem.getPosition().dst(researchShip.getPosition());
+        return canProvideResearch(new ResearchContext(game, researchShip));
+    }
 
-        boolean isNearToSun = (sunDistance < SolarSystemGenerator.SUN_RADIUS);
+    @Override
+    public boolean canProvideResearch(ResearchContext context) {
+        SolarSystem nearestSystem = context.getNearestSystem();
+        boolean isNearToSun = (context.getSunDistance() < SolarSystemGenerator.SUN_RADIUS);
 
         if (!isNearToSun) {
             return false;
@@ -66,11 +73,16 @@ public class SolarResearchProvider implements ResearchProvider {
      */
     @Override
     public ResearchAction getAction(SolGame game, SolShip researchShip) {
-        if (!canProvideResearch(game, researchShip)) {
+        return getAction(new ResearchContext(game, researchShip));
+    }
+
+    @Override
+    public ResearchAction getAction(ResearchContext context) {
+        if (!canProvideResearch(context)) {
             return null;
         }
 
-        SolarSystem nearestSystem = game.getPlanetManager().getNearestSystem(researchShip.getPosition());
+        SolarSystem nearestSystem = context.getNearestSystem();
 
         ResearchAction researchAction;
 
@@ -88,6 +100,11 @@ public class SolarResearchProvider implements ResearchProvider {
         }
     }
 
+    @Override
+    public float getResearchInterval() {
+        return RESEARCH_INTERVAL;
+    }
+
     /**
      * Obtains the currently discovered research actions
      *
@@ -15,18 +15,22 @@
  */
 package org.destinationsol.warp.research.providers;
 
+import com.badlogic.gdx.utils.IntMap;
 import org.destinationsol.game.SolGame;
 import org.destinationsol.game.ship.SolShip;
 import org.destinationsol.warp.research.actions.ResearchAction;
 import org.destinationsol.warp.research.actions.WormholeResearchAction;
 import org.destinationsol.warp.research.systems.WormholeDistortionProvider;
 
-import java.util.HashMap;
-import java.util.Map;
-
 public class WormholeResearchProvider implements ResearchProvider {
-    private Map<WormholeDistortionProvider.DistortionObject, WormholeResearchAction> wormholeResearchMap
-            = new HashMap<WormholeDistortionProvider.DistortionObject, WormholeResearchAction>();
+    /**
+     * Ships pass by wormholes quickly, so the nearest wormhole is looked up at 10 Hz.
+     */
+    private static final float RESEARCH_INTERVAL = 0.1f;
+    /**
+     * The research actions for each wormhole, keyed by wormhole ID.
+     */
+    private IntMap<WormholeResearchAction> wormholeResearchMap = new IntMap<WormholeResearchAction>();
 
     public String getName() {
         return "WormholeResearchProvider";
@@ -41,12 +45,17 @@ public class WormholeResearchProvider implements ResearchProvider {
      */
     @Override
     public boolean canProvideResearch(SolGame game, SolShip researchShip) {
-        WormholeDistortionProvider.DistortionObject wormhole = getNearestWormhole(game, researchShip);
+        return canProvideResearch(new ResearchContext(game, researchShip));
+    }
+
+    @Override
+    public boolean canProvideResearch(ResearchContext context) {
+        WormholeDistortionProvider.DistortionObject wormhole = context.getNearestWormhole();
         if (wormhole == null) {
             return false;
         }
 
-        ResearchAction wormholeAction = wormholeResearchMap.get(wormhole);
+        ResearchAction wormholeAction = wormholeResearchMap.get(wormhole.getWormholeId());
         if (wormholeAction == null) {
             return true;
         } else {
@@ -63,21 +72,31 @@ public class WormholeResearchProvider implements ResearchProvider {
      */
     @Override
     public ResearchAction getAction(SolGame game, SolShip researchShip) {
-        WormholeDistortionProvider.DistortionObject nearestWormhole = getNearestWormhole(game, researchShip);
+        return getAction(new ResearchContext(game, researchShip));
+    }
+
+    @Override
+    public ResearchAction getAction(ResearchContext context) {
+        WormholeDistortionProvider.DistortionObject nearestWormhole = context.getNearestWormhole();
         if (nearestWormhole == null) {
             return null;
         }
 
-        WormholeResearchAction researchAction = wormholeResearchMap.get(nearestWormhole);
+        WormholeResearchAction researchAction = wormholeResearchMap.get(nearestWormhole.getWormholeId());
         if (researchAction == null) {
             researchAction = new WormholeResearchAction(nearestWormhole,
-                    game.getPlanetManager().getNearestSystem(nearestWormhole.getPosition()));
-            wormholeResearchMap.put(nearestWormhole, researchAction);
+                    context.getGame().getPlanetManager().getNearestSystem(nearestWormhole.getPosition()));
+            wormholeResearchMap.put(nearestWormhole.getWormholeId(), researchAction);
         }
 
         return researchAction;
     }
 
+    @Override
+    public float getResearchInterval() {
+        return RESEARCH_INTERVAL;
+    }
+
     /**
      * Obtains the currently discovered research actions
      *
@@ -85,29 +104,12 @@ public class WormholeResearchProvider implements ResearchProvider {
      */
     @Override
     public ResearchAction[] getDiscoveredActions() {
-        return wormholeResearchMap.values().toArray(new ResearchAction[0]);
-    }
-
-    /**
-     * Returns the nearest wormhole to the specified ship. It may return null if there are no wormholes present.
-     *
-     * @param game the game instance to use
-     * @param researchShip the ship to check proximity with
-     * @return the nearest wormhole, or null if there are none present
-     */
-    private WormholeDistortionProvider.DistortionObject getNearestWormhole(SolGame game, SolShip researchShip) {
-        WormholeDistortionProvider.DistortionObject nearestObject = null;
-        float nearestDistance = Float.POSITIVE_INFINITY;
-
-        for (WormholeDistortionProvider.DistortionObject object : WormholeDistortionProvider.getWormholeObjects()) {
-            float distance = researchShip.getPosition().dst(object.getPosition());
-            if (distance < nearestDistance && distance < 3.0f) {
-                nearestDistance = distance;
-                nearestObject = object;
-            }
+        ResearchAction[] actions = new ResearchAction[wormholeResearchMap.size];
+        int actionNo = 0;
+        for (WormholeResearchAction action : wormholeResearchMap.values()) {
+            actions[actionNo++] = action;
         }
-
-        return nearestObject;
+        return actions;
     }
 
     /**
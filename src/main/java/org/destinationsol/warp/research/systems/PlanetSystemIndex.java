@@ -0,0 +1,94 @@
+/*
+ * Copyright 2026 The Terasology Foundation
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.destinationsol.warp.research.systems;
+
+import org.destinationsol.game.SolGame;
+import org.destinationsol.game.planet.Planet;
+import org.destinationsol.game.planet.SolarSystem;
+
+import java.util.IdentityHashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Finds the solar system that a planet belongs to, within a single game.
+ *
+ * The index is built from the galaxy's solar systems the first time that it is queried, so looking up a planet does
+ * not need to search every system. It is rebuilt if more solar systems are built, and any planet missing from it is
+ * searched for directly, in case the systems have changed in some other way. Each game should have its own index, so
+ * that nothing from one game is kept once another has started.
+ */
+public class PlanetSystemIndex {
+    private final Map<Planet, SolarSystem> planetSystems = new IdentityHashMap<Planet, SolarSystem>();
+    private List<SolarSystem> indexedSystems;
+    private int indexedSystemCount;
+
+    public PlanetSystemIndex() {
+    }
+
+    /**
+     * Returns the solar system containing a planet
+     * @param game the game that the planet is in
+     * @param planet the planet to find
+     * @return the planet's solar system, or null if it is not in any of the built solar systems
+     */
+    public SolarSystem getSystem(SolGame game, Planet planet) {
+        List<SolarSystem> systems = game.getGalaxyBuilder().getBuiltSolarSystems();
+        if (systems != indexedSystems || systems.size() != indexedSystemCount) {
+            build(systems);
+        }
+
+        SolarSystem planetSystem = planetSystems.get(planet);
+        if (planetSystem == null) {
+            planetSystem = findSystem(systems, planet);
+            if (planetSystem != null) {
+                planetSystems.put(planet, planetSystem);
+            }
+        }
+        return planetSystem;
+    }
+
+    private void build(List<SolarSystem> systems) {
+        planetSystems.clear();
+        for (SolarSystem system : systems) {
+            for (Planet planet : system.getPlanets()) {
+                planetSystems.put(planet, system);
+            }
+        }
+        indexedSystems = systems;
+        indexedSystemCount = systems.size();
+    }
+
+    /**
+     * Searches the solar systems for the one containing a planet, without building an index. This is cheaper than
+     * building an index for a single look-up, but slower for repeated ones.
+     * @param game the game that the planet is in
+     * @param planet the planet to find
+     * @return the planet's solar system, or null if it is not in any of the built solar systems
+     */
+    public static SolarSystem findSystem(SolGame game, Planet planet) {
+        return findSystem(game.getGalaxyBuilder().getBuiltSolarSystems(), planet);
+    }
+
+    private static SolarSystem findSystem(List<SolarSystem> systems, Planet planet) {
+        for (SolarSystem system : systems) {
+            if (system.getPlanets().contains(planet)) {
+                return system;
+            }
+        }
+        return null;
+    }
+}
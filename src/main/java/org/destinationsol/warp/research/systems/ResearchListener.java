@@ -0,0 +1,56 @@
+/*
+ * Copyright 2026 The Terasology Foundation
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.destinationsol.warp.research.systems;
+
+import org.destinationsol.warp.research.actions.ResearchAction;
+import org.destinationsol.warp.research.providers.ResearchProvider;
+
+/**
+ * Receives notifications about research from the {@link ResearchSystem}. The notifications are sent synchronously,
+ * during the research system's update, so listeners should return quickly.
+ */
+public interface ResearchListener {
+    /**
+     * Called when a research action is done for the first time
+     * @param provider the provider of the action
+     * @param action the action discovered
+     */
+    default void onActionDiscovered(ResearchProvider provider, ResearchAction action) {
+    }
+
+    /**
+     * Called when the progress of a research action reaches the next whole number
+     * @param action the action researched
+     * @param progress the research done for the action so far, rounded down
+     */
+    default void onResearchProgress(ResearchAction action, int progress) {
+    }
+
+    /**
+     * Called when a research action is completed
+     * @param action the action completed
+     */
+    default void onActionCompleted(ResearchAction action) {
+    }
+
+    /**
+     * Called when research points are sold
+     * @param points the research points sold
+     * @param money the money received for them
+     */
+    default void onResearchSold(float points, float money) {
+    }
+}
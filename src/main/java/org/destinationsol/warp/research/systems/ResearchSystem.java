@@ -17,17 +17,20 @@ package org.destinationsol.warp.research.systems;
 
 import com.badlogic.gdx.math.MathUtils;
 import org.destinationsol.SolApplication;
+import org.destinationsol.assets.Assets;
 import org.destinationsol.game.Hero;
 import org.destinationsol.game.SolGame;
 import org.destinationsol.game.UpdateAwareSystem;
 import org.destinationsol.game.attributes.RegisterUpdateSystem;
 import org.destinationsol.game.item.SolItem;
 import org.destinationsol.game.ship.SolShip;
+import org.destinationsol.game.ship.hulls.HullConfig;
 import org.destinationsol.ui.nui.NUIManager;
 import org.destinationsol.ui.nui.NUIScreenLayer;
 import org.destinationsol.ui.nui.screens.MainGameScreen;
 import org.destinationsol.ui.nui.widgets.UIWarnButton;
 import org.destinationsol.warp.research.actions.ResearchAction;
+import org.destinationsol.warp.research.providers.ResearchContext;
 import org.destinationsol.warp.research.providers.ResearchProvider;
 import org.destinationsol.warp.research.providers.PlanetResearchProvider;
 import org.destinationsol.warp.research.providers.SolarResearchProvider;
@@ -41,33 +44,66 @@ import org.terasology.nui.layouts.ColumnLayout;
 
 import javax.inject.Inject;
 import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.HashSet;
+import java.util.IdentityHashMap;
 import java.util.List;
+import java.util.Map;
+import java.util.Set;
 
 @RegisterUpdateSystem
 public class ResearchSystem implements UpdateAwareSystem {
     private static final Logger logger = LoggerFactory.getLogger(ResearchSystem.class);
     private static float researchPoints;
     private static final String RESEARCH_POINT_ICON_PATH = "warp:researchPointIcon";
-    private static final String[] DEFAULT_RESEARCH_SHIPS = new String[] {
-            "warp:scout",
-            "warp:explorer"
-    };
+    /**
+     * The field in a hull's JSON that marks it as able to do research.
+     */
+    private static final String RESEARCH_CAPABLE_FIELD = "researchCapable";
     private static final ResearchProvider[] DEFAULT_RESEARCH_PROVIDERS = new ResearchProvider[] {
             new PlanetResearchProvider(),
             new SolarResearchProvider(),
             new WormholeResearchProvider()
     };
     private static final float RESEARCH_EXCHANGE_RATE = 4;
-    private static List<String> researchShips;
+    private static Set<String> researchShips;
+    /**
+     * Whether each hull seen so far can do research. Hulls are only looked up once, so checking is cheap every frame.
+     */
+    private static Map<HullConfig, Boolean> researchHulls;
+    private static HullConfig lastHullConfig;
+    private static boolean lastHullCanResearch;
     private static List<ResearchProvider> researchProviders;
+    /**
+     * The time since each provider last looked up its research action, in the same order as
+     * {@link #researchProviders}.
+     */
+    private static float[] researchTimes = new float[0];
+    /**
+     * The research action that each provider found at its last look-up, or null if it found none.
+     */
+    private static ResearchAction[] researchActions = new ResearchAction[0];
+    /**
+     * The solar system of each planet in this game. It belongs to this system, so it is dropped along with the game.
+     */
+    private final PlanetSystemIndex planetSystemIndex = new PlanetSystemIndex();
+    /**
+     * The research ship's surroundings, shared by all of the providers and re-used every update.
+     */
+    private final ResearchContext researchContext = new ResearchContext(planetSystemIndex);
+    private final List<ResearchListener> researchListeners = new ArrayList<ResearchListener>();
+    /**
+     * The actions that listeners have already been told about.
+     */
+    private final Set<ResearchAction> discoveredActions =
+            Collections.newSetFromMap(new IdentityHashMap<ResearchAction, Boolean>());
     private ResearchUiScreen researchUiScreen;
     private UIWarnButton researchButton;
 
     static {
-        researchShips = new ArrayList<String>();
-        for (String defaultShip : DEFAULT_RESEARCH_SHIPS) {
-            addResearchShip(defaultShip);
-        }
+        researchShips = new HashSet<String>();
+        researchHulls = new IdentityHashMap<HullConfig, Boolean>();
 
         researchProviders = new ArrayList<ResearchProvider>();
         for (ResearchProvider provider : DEFAULT_RESEARCH_PROVIDERS) {
@@ -77,6 +113,10 @@ public class ResearchSystem implements UpdateAwareSystem {
 
     @Inject
     public ResearchSystem() {
+        // A new system is created for each game, which loads its own hulls, so forget those from any previous game.
+        researchHulls.clear();
+        lastHullConfig = null;
+        forgetResearchActions();
     }
 
     @Override
@@ -91,8 +131,7 @@ public class ResearchSystem implements UpdateAwareSystem {
 
             // Only show the research UI when flying a research-capable ship.
             // Don't check if the player is currently transcendent.
-            if (!game.getHero().isTranscendent() && researchShips.contains(
-                    game.getHero().getShip().getHull().getHullConfig().getInternalName())) {
+            if (!game.getHero().isTranscendent() && canResearch(game.getHero().getShip().getHull().getHullConfig())) {
                 // Either started a new game or continued an existing one.
                 researchUiScreen = new ResearchUiScreen(this);
 
@@ -103,26 +142,80 @@ public class ResearchSystem implements UpdateAwareSystem {
                     game.getHero().getItemContainer().add(researchItem);
                     researchPoints = 0;
                     resetResearchProviders();
+                    discoveredActions.clear();
                 }
             }
         }
 
         Hero hero = game.getHero();
-        if (!hero.isTranscendent() && researchShips.contains(hero.getShip().getHull().getHullConfig().getInternalName())) {
+        if (!hero.isTranscendent() && canResearch(hero.getShip().getHull().getHullConfig())) {
             researchButton.setVisible(true);
             SolShip researchShip = hero.getShip();
-            for (ResearchProvider provider : researchProviders) {
-                if (provider.canProvideResearch(game, researchShip)) {
-                    ResearchAction action = provider.getAction(game, researchShip);
-                    if (action != null) {
-                        researchPoints += action.doResearch(game, researchShip);
-                        researchButton.enableWarn();
-                    }
+            researchContext.set(game, researchShip);
+            for (int providerNo = 0; providerNo < researchProviders.size(); providerNo++) {
+                // Only looking up the action is throttled. Research itself is still done every frame.
+                ResearchProvider provider = researchProviders.get(providerNo);
+                researchTimes[providerNo] += timeStep;
+                if (researchTimes[providerNo] >= provider.getResearchInterval()) {
+                    researchTimes[providerNo] = 0;
+                    researchActions[providerNo] = provider.canProvideResearch(researchContext)
+                            ? provider.getAction(researchContext) : null;
+                }
+
+                ResearchAction action = researchActions[providerNo];
+                if (action != null) {
+                    doResearch(game, researchShip, provider, action);
                 }
             }
         } else {
             researchButton.setVisible(false);
+            // Look the actions up again as soon as there is a research ship again.
+            forgetResearchActions();
+        }
+    }
+
+    private void doResearch(SolGame game, SolShip researchShip, ResearchProvider provider, ResearchAction action) {
+        if (discoveredActions.add(action)) {
+            for (int listenerNo = 0; listenerNo < researchListeners.size(); listenerNo++) {
+                researchListeners.get(listenerNo).onActionDiscovered(provider, action);
+            }
+            researchButton.enableWarn();
+        }
+
+        int previousProgress = (int) action.getProgress();
+        boolean wasComplete = action.isResearchComplete();
+        researchPoints += action.doResearch(game, researchShip);
+
+        int progress = (int) action.getProgress();
+        if (progress > previousProgress) {
+            for (int listenerNo = 0; listenerNo < researchListeners.size(); listenerNo++) {
+                researchListeners.get(listenerNo).onResearchProgress(action, progress);
+            }
+            researchButton.enableWarn();
         }
+
+        if (!wasComplete && action.isResearchComplete()) {
+            for (int listenerNo = 0; listenerNo < researchListeners.size(); listenerNo++) {
+                researchListeners.get(listenerNo).onActionCompleted(action);
+            }
+            researchButton.enableWarn();
+        }
+    }
+
+    /**
+     * Registers a listener to be notified of research progress
+     * @param listener the listener to add
+     */
+    public void addResearchListener(ResearchListener listener) {
+        if (researchListeners.contains(listener)) {
+            return;
+        }
+
+        researchListeners.add(listener);
+    }
+
+    public void removeResearchListener(ResearchListener listener) {
+        researchListeners.remove(listener);
     }
 
     /**
@@ -134,15 +227,46 @@ public class ResearchSystem implements UpdateAwareSystem {
     }
 
     /**
-     * Registers a ship for being eligible for collecting research
+     * Registers a ship for being eligible for collecting research. Ships can also be made eligible by setting the
+     * "researchCapable" field to true in their hull's JSON.
      * @param shipName the ship to the registered
      */
     public static void addResearchShip(String shipName) {
-        if (researchShips.contains(shipName)) {
+        if (!researchShips.add(shipName)) {
             return;
         }
 
-        researchShips.add(shipName);
+        // Update any hulls that have already been checked.
+        for (Map.Entry<HullConfig, Boolean> hull : researchHulls.entrySet()) {
+            if (hull.getKey().getInternalName().equals(shipName)) {
+                hull.setValue(true);
+            }
+        }
+        lastHullConfig = null;
+    }
+
+    /**
+     * Checks if a hull is eligible for collecting research
+     * @param hullConfig the hull to check
+     * @return true, if ships with the hull can collect research
+     */
+    public static boolean canResearch(HullConfig hullConfig) {
+        // The hero's hull rarely changes, so it is usually the same as last time.
+        if (hullConfig == lastHullConfig) {
+            return lastHullCanResearch;
+        }
+
+        Boolean canResearch = researchHulls.get(hullConfig);
+        if (canResearch == null) {
+            String hullName = hullConfig.getInternalName();
+            canResearch = researchShips.contains(hullName)
+                    || Assets.getJson(hullName).getJsonValue().optBoolean(RESEARCH_CAPABLE_FIELD, false);
+            researchHulls.put(hullConfig, canResearch);
+        }
+
+        lastHullConfig = hullConfig;
+        lastHullCanResearch = canResearch;
+        return canResearch;
     }
 
     /**
@@ -155,6 +279,8 @@ public class ResearchSystem implements UpdateAwareSystem {
         }
 
         researchProviders.add(provider);
+        researchTimes = Arrays.copyOf(researchTimes, researchProviders.size());
+        researchActions = Arrays.copyOf(researchActions, researchProviders.size());
     }
 
     /**
@@ -172,7 +298,11 @@ public class ResearchSystem implements UpdateAwareSystem {
      */
     public void sellResearchPoints(Hero hero, float points) {
         researchPoints -= MathUtils.clamp(points, 0, researchPoints);
-        hero.setMoney(hero.getMoney() + (points * RESEARCH_EXCHANGE_RATE));
+        float money = points * RESEARCH_EXCHANGE_RATE;
+        hero.setMoney(hero.getMoney() + money);
+        for (int listenerNo = 0; listenerNo < researchListeners.size(); listenerNo++) {
+            researchListeners.get(listenerNo).onResearchSold(points, money);
+        }
     }
 
     private void insertResearchButton(SolApplication application) {
@@ -227,5 +357,14 @@ public class ResearchSystem implements UpdateAwareSystem {
         for (ResearchProvider provider : researchProviders) {
             provider.reset();
         }
+        forgetResearchActions();
+    }
+
+    /**
+     * Forgets the research action found by each provider, so that they are all looked up again on the next update.
+     */
+    private static void forgetResearchActions() {
+        Arrays.fill(researchTimes, Float.POSITIVE_INFINITY);
+        Arrays.fill(researchActions, null);
     }
 }
@@ -0,0 +1,228 @@
+/*
+ * Copyright 2026 The Terasology Foundation
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.destinationsol.warp.research.systems;
+
+import com.badlogic.gdx.math.Vector2;
+import com.badlogic.gdx.utils.IntArray;
+import org.destinationsol.game.SolGame;
+import org.destinationsol.game.SolObject;
+import org.destinationsol.game.ship.ForceBeacon;
+import org.destinationsol.game.ship.SolShip;
+
+import java.util.Arrays;
+import java.util.List;
+
+/**
+ * Answers proximity queries about the ships currently in the game.
+ *
+ * The ships are bucketed into a spatial hash the first time that it is queried each tick, so the cost of scanning
+ * the game's objects is paid once per frame, rather than once for every caller.
+ */
+public class ShipProximityService {
+    private static final float CELL_SIZE = ForceBeacon.MAX_PULL_DIST;
+    private static final int INITIAL_CAPACITY = 64;
+    private static final ShipProximityService instance = new ShipProximityService();
+    private float lastBuildTime = Float.NaN;
+    private int shipCount;
+    private SolShip[] ships = new SolShip[INITIAL_CAPACITY];
+    private float[] shipX = new float[INITIAL_CAPACITY];
+    private float[] shipY = new float[INITIAL_CAPACITY];
+    /**
+     * The next ship in the same bucket as each ship, or -1 if it is the last one.
+     */
+    private int[] nextInBucket = new int[INITIAL_CAPACITY];
+    /**
+     * The first ship in each bucket, or -1 if the bucket is empty. The length is always a power of two.
+     */
+    private int[] bucketHeads = new int[INITIAL_CAPACITY];
+
+    private ShipProximityService() {
+    }
+
+    /**
+     * Obtains the shared instance of the service
+     * @return the service instance
+     */
+    public static ShipProximityService getInstance() {
+        return instance;
+    }
+
+    /**
+     * Finds the ship nearest to a point, if it is within the specified distance.
+     * @param game the game to search in
+     * @param position the point to search around
+     * @param radius the maximum distance from the point
+     * @return the nearest ship, or null if there are no ships within the radius
+     */
+    public SolShip getNearestShip(SolGame game, Vector2 position, float radius) {
+        ensureBuilt(game);
+
+        int minCellX = getCell(position.x - radius);
+        int maxCellX = getCell(position.x + radius);
+        int minCellY = getCell(position.y - radius);
+        int maxCellY = getCell(position.y + radius);
+        if ((long) (maxCellX - minCellX + 1) * (maxCellY - minCellY + 1) > bucketHeads.length) {
+            // The search area covers more cells than there are buckets, so it is cheaper to check every ship.
+            int nearestShip = -1;
+            float nearestDistanceSquared = radius * radius;
+            for (int ship = 0; ship < shipCount; ship++) {
+                float distanceSquared = getDistanceSquared(ship, position);
+                if (distanceSquared < nearestDistanceSquared) {
+                    nearestDistanceSquared = distanceSquared;
+                    nearestShip = ship;
+                }
+            }
+            return nearestShip != -1 ? ships[nearestShip] : null;
+        }
+
+        SolShip nearestShip = null;
+        float nearestDistanceSquared = radius * radius;
+        for (int cellX = minCellX; cellX <= maxCellX; cellX++) {
+            for (int cellY = minCellY; cellY <= maxCellY; cellY++) {
+                for (int ship = bucketHeads[getBucket(cellX, cellY)]; ship != -1; ship = nextInBucket[ship]) {
+                    float distanceSquared = getDistanceSquared(ship, position);
+                    if (distanceSquared < nearestDistanceSquared) {
+                        nearestDistanceSquared = distanceSquared;
+                        nearestShip = ships[ship];
+                    }
+                }
+            }
+        }
+
+        return nearestShip;
+    }
+
+    /**
+     * Finds all of the ships within the specified distance of a point.
+     * Ships are referred to by their index in the service, which stays the same until the end of the current tick.
+     * @param game the game to search in
+     * @param position the point to search around
+     * @param radius the maximum distance from the point
+     * @param results the list to add the indices of any ships found to. It is not cleared beforehand.
+     * @see #getShip(int)
+     */
+    public void getShipsWithin(SolGame game, Vector2 position, float radius, IntArray results) {
+        ensureBuilt(game);
+
+        float radiusSquared = radius * radius;
+        int minCellX = getCell(position.x - radius);
+        int maxCellX = getCell(position.x + radius);
+        int minCellY = getCell(position.y - radius);
+        int maxCellY = getCell(position.y + radius);
+        if ((long) (maxCellX - minCellX + 1) * (maxCellY - minCellY + 1) > bucketHeads.length) {
+            for (int ship = 0; ship < shipCount; ship++) {
+                if (getDistanceSquared(ship, position) < radiusSquared) {
+                    results.add(ship);
+                }
+            }
+            return;
+        }
+
+        for (int cellX = minCellX; cellX <= maxCellX; cellX++) {
+            for (int cellY = minCellY; cellY <= maxCellY; cellY++) {
+                for (int ship = bucketHeads[getBucket(cellX, cellY)]; ship != -1; ship = nextInBucket[ship]) {
+                    // Buckets can be shared between cells, so only take the ships from this cell to avoid duplicates.
+                    if (getCell(shipX[ship]) == cellX && getCell(shipY[ship]) == cellY
+                            && getDistanceSquared(ship, position) < radiusSquared) {
+                        results.add(ship);
+                    }
+                }
+            }
+        }
+    }
+
+    /**
+     * Returns the number of ships in the game this tick.
+     * @param game the game to search in
+     * @return the number of ships
+     */
+    public int getShipCount(SolGame game) {
+        ensureBuilt(game);
+        return shipCount;
+    }
+
+    /**
+     * Returns the ship at the specified index, as found by {@link #getShipsWithin(SolGame, Vector2, float, IntArray)}.
+     * @param index the index of the ship
+     * @return the ship
+     */
+    public SolShip getShip(int index) {
+        return ships[index];
+    }
+
+    public float getShipX(int index) {
+        return shipX[index];
+    }
+
+    public float getShipY(int index) {
+        return shipY[index];
+    }
+
+    private void ensureBuilt(SolGame game) {
+        float time = game.getTime();
+        if (time == lastBuildTime) {
+            return;
+        }
+        lastBuildTime = time;
+
+        List<SolObject> objects = game.getObjectManager().getObjects();
+        Arrays.fill(ships, 0, shipCount, null);
+        shipCount = 0;
+        for (SolObject object : objects) {
+            if (!(object instanceof SolShip)) {
+                continue;
+            }
+
+            if (shipCount == ships.length) {
+                int capacity = ships.length * 2;
+                ships = Arrays.copyOf(ships, capacity);
+                shipX = Arrays.copyOf(shipX, capacity);
+                shipY = Arrays.copyOf(shipY, capacity);
+                nextInBucket = Arrays.copyOf(nextInBucket, capacity);
+                bucketHeads = new int[capacity];
+            }
+
+            Vector2 position = object.getPosition();
+            ships[shipCount] = (SolShip) object;
+            shipX[shipCount] = position.x;
+            shipY[shipCount] = position.y;
+            shipCount++;
+        }
+
+        Arrays.fill(bucketHeads, -1);
+        for (int ship = 0; ship < shipCount; ship++) {
+            int bucket = getBucket(getCell(shipX[ship]), getCell(shipY[ship]));
+            nextInBucket[ship] = bucketHeads[bucket];
+            bucketHeads[bucket] = ship;
+        }
+    }
+
+    private float getDistanceSquared(int ship, Vector2 position) {
+        float deltaX = shipX[ship] - position.x;
+        float deltaY = shipY[ship] - position.y;
+        return deltaX * deltaX + deltaY * deltaY;
+    }
+
+    private int getCell(float coordinate) {
+        return (int) Math.floor(coordinate / CELL_SIZE);
+    }
+
+    private int getBucket(int cellX, int cellY) {
+        // Different cells can share a bucket, which is fine since the distance to each ship is always checked.
+        int hash = cellX * 73856093 ^ cellY * 19349663;
+        return (hash ^ (hash >>> 16)) & (bucketHeads.length - 1);
+    }
+}
@@ -18,10 +18,12 @@ package org.destinationsol.warp.research.systems;
 import com.badlogic.gdx.graphics.Color;
 import com.badlogic.gdx.graphics.g2d.TextureAtlas;
 import com.badlogic.gdx.math.Vector2;
+import com.badlogic.gdx.utils.IntArray;
 import org.destinationsol.assets.Assets;
 import org.destinationsol.common.SolRandom;
 import org.destinationsol.game.DmgType;
 import org.destinationsol.game.FarObject;
+import org.destinationsol.game.SaveManager;
 import org.destinationsol.game.SolGame;
 import org.destinationsol.game.SolObject;
 import org.destinationsol.game.UpdateAwareSystem;
@@ -29,176 +31,667 @@ import org.destinationsol.game.attributes.RegisterUpdateSystem;
 import org.destinationsol.game.drawables.Drawable;
 import org.destinationsol.game.drawables.DrawableLevel;
 import org.destinationsol.game.drawables.RectSprite;
-import org.destinationsol.game.planet.SolarSystem;
+import org.destinationsol.game.input.Pilot;
 import org.destinationsol.game.planet.SunSingleton;
 import org.destinationsol.game.ship.ForceBeacon;
 import org.destinationsol.game.ship.SolShip;
 import org.destinationsol.game.ship.hulls.HullConfig;
 import org.destinationsol.warp.research.warnDrawers.WormholeWarnDrawer;
+import org.destinationsol.warp.research.wormholes.GalaxySnapshot;
+import org.destinationsol.warp.research.wormholes.ShuffleWormholeLinker;
+import org.destinationsol.warp.research.wormholes.WormholeActivator;
+import org.destinationsol.warp.research.wormholes.WormholeGrid;
+import org.destinationsol.warp.research.wormholes.WormholeLinker;
+import org.destinationsol.warp.research.wormholes.WormholeNetwork;
+import org.destinationsol.warp.research.wormholes.WormholeNetworkCodec;
+import org.destinationsol.warp.research.wormholes.WormholeNetworkGenerator;
+import org.destinationsol.warp.research.wormholes.WormholeProximityListener;
+import org.destinationsol.warp.research.wormholes.WormholePull;
+import org.destinationsol.warp.research.wormholes.WormholeRoutePlanner;
+import org.destinationsol.warp.research.wormholes.WormholeStore;
+import org.json.JSONObject;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
 import org.terasology.nui.UITextureRegion;
 
 import javax.inject.Inject;
+import java.io.IOException;
+import java.nio.ByteBuffer;
 import java.util.ArrayList;
+import java.util.BitSet;
+import java.util.Collections;
 import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.atomic.AtomicReference;
 
 @RegisterUpdateSystem(priority = Integer.MIN_VALUE)
 public class WormholeDistortionProvider implements UpdateAwareSystem {
     private static final String WORMHOLE_TEXTURE_PATH = "warp:distortionProjectile";
+    /**
+     * The configuration file for the number and spacing of the wormholes.
+     */
+    private static final String WORMHOLE_CONFIG_PATH = "warp:wormholesConfig";
     private static final int WORMHOLE_MIN = 100;
     private static final int WORMHOLE_MAX = 600;
-    private static final int WORMHOLE_VISIBLE_DISTANCE = 5;
+    /**
+     * The distance from the hero within which wormholes are added to the game.
+     */
+    private static final float WORMHOLE_ENTER_DISTANCE = 5;
+    /**
+     * The distance from the hero beyond which wormholes are removed from the game again. This is larger than the
+     * enter distance, so that a hero hovering around the edge does not add and remove the same wormhole every frame.
+     */
+    private static final float WORMHOLE_EXIT_DISTANCE = 6;
+    /**
+     * The maximum number of wormholes added to (and removed from) the game each frame.
+     */
+    private static final int WORMHOLE_MAX_CHANGES_PER_FRAME = 8;
+    private static final float WORMHOLE_MIN_SEPARATION = 2;
+    private static final float WORMHOLE_STABILITY = 10.0f;
     private static final boolean WORMHOLE_DEBUG = false;
-    private static List<Wormhole> wormholes = new ArrayList<Wormhole>();
+    /**
+     * The file that the wormholes are saved to. Each galaxy seed has its own file, so that the wormholes saved for one
+     * game are never overwritten by those of another.
+     */
+    private static final String WORMHOLE_SAVE_FILE_FORMAT = "wormholes-%016x.dat";
+    /**
+     * The minimum time between saves of the wormholes, in seconds.
+     */
+    private static final float WORMHOLE_SAVE_INTERVAL = 10.0f;
+    /**
+     * If true, wormholes are generated on a separate thread, rather than stalling the first frame of the game.
+     */
+    private static final boolean WORMHOLE_ASYNC_GENERATION = true;
+    /**
+     * The number of landmarks used by the route planner's heuristic.
+     */
+    private static final int WORMHOLE_ROUTE_LANDMARKS = 8;
+    /**
+     * The furthest that the route planner considers flying between two wormholes, before entering the next one.
+     * Longer flights are planned as a chain of shorter ones between the wormholes in-between.
+     */
+    private static final float WORMHOLE_ROUTE_NEIGHBOUR_DISTANCE = 50;
+    /**
+     * The number of nearby wormholes that the route planner considers flying to from each wormhole.
+     */
+    private static final int WORMHOLE_ROUTE_NEIGHBOURS = 8;
+    /**
+     * The maximum number of wormholes that the route planner visits whilst searching for a single route.
+     */
+    private static final int WORMHOLE_ROUTE_SEARCH_LIMIT = 4096;
+    /**
+     * The size of the cells that routes are cached by. Routes starting and ending in the same cells are shared.
+     */
+    private static final float WORMHOLE_ROUTE_CELL_SIZE = 10;
+    private static final int WORMHOLE_ROUTE_CACHE_SIZE = 1024;
+    private static final Logger logger = LoggerFactory.getLogger(WormholeDistortionProvider.class);
+    /**
+     * If true, each solar system's wormholes are only generated once the hero approaches the system.
+     * The resulting wormholes are the same either way.
+     */
+    private static final boolean WORMHOLE_STREAMING_GENERATION = true;
+    /**
+     * In streaming mode, a solar system's wormholes start being placed in the background once the hero is within
+     * this many times the system's radius of it.
+     */
+    private static final float WORMHOLE_PREFETCH_DISTANCE_MULTIPLIER = 2;
+    /**
+     * Receives the network from the generation thread. A new reference is used for each game, so that a network
+     * generated for an earlier game can never end up in this one.
+     */
+    private static AtomicReference<WormholeNetwork> generatedNetwork = new AtomicReference<WormholeNetwork>();
+    private static boolean generationStarted;
+    /**
+     * Set if the module is not permitted to access the save files, so that it stops trying.
+     */
+    private static volatile boolean saveFileDenied;
+    /**
+     * Runs the wormhole work that should not stall the game: generating solar systems ahead of time and saving.
+     */
+    private static ExecutorService backgroundExecutor;
+    private static GalaxySnapshot galaxySnapshot;
+    private static WormholeNetwork wormholeNetwork;
+    private static WormholeStore wormholeStore;
+    private static WormholeActivator wormholeActivator;
+    private static WormholeRoutePlanner routePlanner;
+    /**
+     * The object created for each wormhole, indexed by ID, or null if the wormhole has not been near to the hero yet.
+     */
+    private static DistortionObject[] wormholeInstances = new DistortionObject[0];
+    /**
+     * The far object for each wormhole, indexed by ID, or null if the wormhole has not been far from the hero yet.
+     * Wormholes keep the same near and far objects for the whole game, so that their identities are stable.
+     */
+    private static FarDistortionObject[] wormholeFarInstances = new FarDistortionObject[0];
     private static List<DistortionObject> wormholeObjects = new ArrayList<DistortionObject>();
+    /**
+     * The wormholes that the hero is currently near to, as reported to the proximity listeners.
+     */
+    private static BitSet nearWormholes = new BitSet();
+    private static List<WormholeProximityListener> proximityListeners = new ArrayList<WormholeProximityListener>();
+    private static WormholeGrid wormholeGrid;
+    private static WormholeLinker wormholeLinker = new ShuffleWormholeLinker();
+    private final IntArray wormholesToEnable = new IntArray();
+    private final IntArray wormholesToDisable = new IntArray();
+    private final IntArray shipsInRange = new IntArray();
+    /**
+     * The ships pulled by any wormholes this tick, by their index in the {@link ShipProximityService}.
+     */
+    private final IntArray pulledShips = new IntArray();
+    private final Vector2 pull = new Vector2();
+    private final Vector2 pullCentre = new Vector2();
+    private float[] shipPullX = new float[0];
+    private float[] shipPullY = new float[0];
+    private boolean[] shipPulled = new boolean[0];
     private final TextureAtlas.AtlasRegion wormholeTexture;
     private WormholeWarnDrawer wormholeWarnDrawer;
+    private float saveTimer;
 
     @Inject
     public WormholeDistortionProvider() {
         wormholeTexture = Assets.getAtlasRegion(WORMHOLE_TEXTURE_PATH);
+        forgetWormholes();
+    }
+
+    /**
+     * Forgets the wormholes from any previous game, since a new provider is created for each game.
+     */
+    private static void forgetWormholes() {
+        generatedNetwork = new AtomicReference<WormholeNetwork>();
+        generationStarted = false;
+        galaxySnapshot = null;
+        wormholeNetwork = null;
+        wormholeStore = null;
+        wormholeActivator = null;
+        routePlanner = null;
+        wormholeInstances = new DistortionObject[0];
+        wormholeFarInstances = new FarDistortionObject[0];
+        wormholeObjects.clear();
+        nearWormholes = new BitSet();
+        wormholeGrid = null;
+        // The warning drawer belonged to the previous game's screen, and a new one is added on the first update.
+        proximityListeners.removeIf(listener -> listener instanceof WormholeWarnDrawer);
     }
 
     @Override
     public void update(SolGame game, float timeStep) {
         if (!game.getScreens().mainGameScreen.hasWarnDrawer("wormholeWarnDrawer")) {
+            if (wormholeWarnDrawer != null) {
+                removeProximityListener(wormholeWarnDrawer);
+            }
             UITextureRegion whiteTexture = Assets.getDSTexture("engine:uiWhiteTex").getUiTexture();
-            wormholeWarnDrawer = new WormholeWarnDrawer(game, whiteTexture);
+            wormholeWarnDrawer = new WormholeWarnDrawer(whiteTexture);
             game.getScreens().mainGameScreen.addWarnDrawer(wormholeWarnDrawer);
+            addProximityListener(wormholeWarnDrawer);
         }
 
-        if (wormholes.isEmpty()) {
-            spawnWormholes(game);
-            return;
+        if (wormholeNetwork == null) {
+            if (!generationStarted) {
+                startGeneration(game);
+            }
+
+            // Carry on without any wormholes until they are ready, rather than waiting for them.
+            WormholeNetwork network = generatedNetwork.getAndSet(null);
+            if (network == null) {
+                return;
+            }
+            spawnWormholes(game, network);
         }
 
         Vector2 heroPosition = game.getHero().getPosition();
-        for (Wormhole wormhole : wormholes) {
-            boolean isEnabled = wormhole.isEnabled();
-            if (wormhole.getPosition().dst(heroPosition) < WORMHOLE_VISIBLE_DISTANCE) {
-                if (!isEnabled) {
-                    if (wormhole.getInstance() == null) {
-                        DistortionObject instance = new DistortionObject(wormhole.getPosition(), wormhole.getConnectedWormhole().getPosition(), 10.0f);
-                        wormhole.setInstance(instance);
-                    }
+        if (WORMHOLE_STREAMING_GENERATION) {
+            spawnNearbySystems(heroPosition);
+        }
+
+        saveTimer -= timeStep;
+        if (saveTimer <= 0 && wormholeNetwork.isModified()) {
+            saveTimer = WORMHOLE_SAVE_INTERVAL;
+            saveNetwork();
+        }
 
-                    DistortionObject instance = wormhole.getInstance();
-                    game.getObjectManager().addObjDelayed(instance);
-                    wormholeObjects.add(instance);
-                    wormhole.setEnabled(true);
+        wormholeActivator.update(wormholeGrid, heroPosition, wormholesToEnable, wormholesToDisable);
+        for (int i = 0; i < wormholesToDisable.size; i++) {
+            disableWormhole(game, wormholesToDisable.get(i));
+        }
+        for (int i = 0; i < wormholesToEnable.size; i++) {
+            enableWormhole(game, wormholesToEnable.get(i));
+        }
+
+        updateProximity(heroPosition);
+        pullShips(game);
+    }
+
+    /**
+     * Pulls the ships near to any active wormholes towards them. The pulls from all of the wormholes are added up for
+     * each ship first, and then applied in a single pass, so each ship is only updated once per tick.
+     * @param game the game to pull ships in
+     */
+    private void pullShips(SolGame game) {
+        ShipProximityService proximityService = ShipProximityService.getInstance();
+        int shipCount = proximityService.getShipCount(game);
+        if (shipPulled.length < shipCount) {
+            shipPullX = new float[shipCount];
+            shipPullY = new float[shipCount];
+            shipPulled = new boolean[shipCount];
+        }
+
+        pulledShips.clear();
+        for (int id = wormholeStore.nextEnabled(0); id >= 0; id = wormholeStore.nextEnabled(id + 1)) {
+            pullCentre.set(wormholeStore.getX(id), wormholeStore.getY(id));
+            shipsInRange.clear();
+            proximityService.getShipsWithin(game, pullCentre, ForceBeacon.MAX_PULL_DIST, shipsInRange);
+            for (int i = 0; i < shipsInRange.size; i++) {
+                int ship = shipsInRange.get(i);
+                if (!shipPulled[ship]) {
+                    if (!canBePulled(proximityService.getShip(ship))) {
+                        continue;
+                    }
+                    shipPulled[ship] = true;
+                    shipPullX[ship] = 0;
+                    shipPullY[ship] = 0;
+                    pulledShips.add(ship);
                 }
-            } else if (isEnabled && wormhole.getInstance() != null) {
-                DistortionObject instance = wormhole.getInstance();
-                wormholeObjects.remove(instance);
-                game.getObjectManager().removeObjDelayed(instance);
-                wormhole.setEnabled(false);
+
+                pull.set(shipPullX[ship], shipPullY[ship]);
+                WormholePull.addPull(proximityService.getShipX(ship), proximityService.getShipY(ship),
+                        pullCentre.x, pullCentre.y, ForceBeacon.MAX_PULL_DIST, pull);
+                shipPullX[ship] = pull.x;
+                shipPullY[ship] = pull.y;
             }
         }
+
+        for (int i = 0; i < pulledShips.size; i++) {
+            int ship = pulledShips.get(i);
+            shipPulled[ship] = false;
+            pull.set(shipPullX[ship], shipPullY[ship]);
+            proximityService.getShip(ship).getHull().getBody().setLinearVelocity(pull);
+        }
     }
 
-    private void spawnWormholes(SolGame game) {
-        long seed = SolRandom.getSeed();
+    private static boolean canBePulled(SolShip ship) {
+        // As with force beacons, ships being actively steered are left alone.
+        Pilot pilot = ship.getPilot();
+        return ship.getHull().getHullConfig().getType() != HullConfig.Type.STATION
+                && !pilot.isUp() && !pilot.isLeft() && !pilot.isRight();
+    }
 
-        List<SolarSystem> systems = game.getPlanetManager().getSystems();
+    /**
+     * Notifies the proximity listeners of any wormholes that the hero has come near to or moved away from.
+     * The hero is near to a wormhole within the enter distance, and stays near until it is beyond the exit distance.
+     * This uses the wormholes found by the activation pass, so it must be called after it.
+     * @param heroPosition the current position of the hero
+     */
+    private void updateProximity(Vector2 heroPosition) {
+        float exitDistanceSquared = WORMHOLE_EXIT_DISTANCE * WORMHOLE_EXIT_DISTANCE;
+        for (int id = nearWormholes.nextSetBit(0); id >= 0; id = nearWormholes.nextSetBit(id + 1)) {
+            // Despawned wormholes have no position, so they would never be found to be out of range.
+            if (!wormholeStore.isSpawned(id) || getDistanceSquared(id, heroPosition) >= exitDistanceSquared) {
+                nearWormholes.clear(id);
+                for (int i = 0; i < proximityListeners.size(); i++) {
+                    proximityListeners.get(i).onWormholeLeft(id);
+                }
+            }
+        }
 
-        // TODO: Why is this here? Is it resetting the random number generator after generating
-        // the wormholes to ensure consistency between warp-enabled and non-warp saves?
-        SolRandom.setSeed(seed);
+        IntArray nearbyWormholes = wormholeActivator.getNearbyWormholes();
+        for (int i = 0; i < nearbyWormholes.size; i++) {
+            int id = nearbyWormholes.get(i);
+            if (!nearWormholes.get(id)) {
+                nearWormholes.set(id);
+                for (int listenerNo = 0; listenerNo < proximityListeners.size(); listenerNo++) {
+                    proximityListeners.get(listenerNo).onWormholeEntered(id);
+                }
+            }
+        }
+    }
 
-        List<Vector2> wormholePositions = new ArrayList<Vector2>();
+    private static float getDistanceSquared(int id, Vector2 position) {
+        float deltaX = wormholeStore.getX(id) - position.x;
+        float deltaY = wormholeStore.getY(id) - position.y;
+        return deltaX * deltaX + deltaY * deltaY;
+    }
 
-        // Create wormholes
-        int wormholeCount = SolRandom.seededRandomInt(WORMHOLE_MIN, WORMHOLE_MAX);
-        if (wormholeCount % 2 != 0) {
-            // There must always be an even number of wormholes, as they come in pairs.
-            wormholeCount++;
+    private void enableWormhole(SolGame game, int id) {
+        if (wormholeInstances[id] == null) {
+            int connectedId = wormholeStore.getLink(id);
+            if (!isSystemReady(connectedId)) {
+                // Don't stall the game generating the other end. This is tried again on the next update.
+                wormholeNetwork.prefetchSystem(wormholeNetwork.getSystem(connectedId), getBackgroundExecutor());
+                return;
+            }
+            spawnWormhole(connectedId);
+            if (!wormholeStore.isSpawned(id)) {
+                // The connected wormhole could not be placed, so this one has been removed.
+                return;
+            }
+            wormholeInstances[id] = new DistortionObject(id,
+                    new Vector2(wormholeStore.getX(id), wormholeStore.getY(id)),
+                    new Vector2(wormholeStore.getX(connectedId), wormholeStore.getY(connectedId)));
         }
-        int wormholesPerSystem = wormholeCount / systems.size();
-        for (SolarSystem system : systems) {
-            for (int i = 0; i < wormholesPerSystem; i++) {
-                Vector2 position;
-                do {
-                    boolean positionRight = SolRandom.seededTest(0.5f);
-                    boolean positionTop = SolRandom.seededTest(0.5f);
 
-                    float positionValueX;
-                    float positionValueY;
-                    if (positionRight) {
-                        // Left
-                        positionValueX = SolRandom.seededRandomFloat(system.getPosition().x + SunSingleton.SUN_HOT_RAD,
-                                system.getPosition().x + system.getRadius());
-                    } else {
-                        // Right
-                        positionValueX = SolRandom.seededRandomFloat(system.getPosition().x - system.getRadius(),
-                                system.getPosition().x - SunSingleton.SUN_HOT_RAD);
-                    }
+        DistortionObject instance = wormholeInstances[id];
+        game.getObjectManager().addObjDelayed(instance);
+        wormholeObjects.add(instance);
+        wormholeStore.setEnabled(id, true);
+    }
 
-                    if (positionTop) {
-                        // Top
-                        positionValueY = SolRandom.seededRandomFloat(system.getPosition().y + SunSingleton.SUN_HOT_RAD,
-                                system.getPosition().y + system.getRadius());
-                    } else {
-                        // Bottom
-                        positionValueY = SolRandom.seededRandomFloat(system.getPosition().y - system.getRadius(),
-                                system.getPosition().y - SunSingleton.SUN_HOT_RAD);
-                    }
+    private static void disableWormhole(SolGame game, int id) {
+        DistortionObject instance = wormholeInstances[id];
+        wormholeObjects.remove(instance);
+        game.getObjectManager().removeObjDelayed(instance);
+        wormholeStore.setEnabled(id, false);
+    }
 
-                    position = new Vector2(positionValueX, positionValueY);
-                } while (!isPositionFree(game, wormholePositions, position));
+    private void startGeneration(SolGame game) {
+        generationStarted = true;
+
+        // The galaxy is copied here, on the game thread, so that generation never reads the live game state.
+        galaxySnapshot = GalaxySnapshot.capture(game.getPlanetManager().getSystems(),
+                game.getPlanetManager().getMazes());
+        JSONObject config = Assets.getJson(WORMHOLE_CONFIG_PATH).getJsonValue();
+        int minWormholes = config.optInt("minWormholes", WORMHOLE_MIN);
+        int maxWormholes = config.optInt("maxWormholes", WORMHOLE_MAX);
+        float minSeparation = (float) config.optDouble("minSeparation", WORMHOLE_MIN_SEPARATION);
+        if (minWormholes < 0 || maxWormholes <= minWormholes) {
+            logger.warn("Invalid wormhole counts ({} to {}) in {}. Using the defaults instead.", minWormholes,
+                    maxWormholes, WORMHOLE_CONFIG_PATH);
+            minWormholes = WORMHOLE_MIN;
+            maxWormholes = WORMHOLE_MAX;
+        }
+        float minAllowedSeparation = WormholeNetworkGenerator.getMinSeparation(galaxySnapshot);
+        if (!(minSeparation > 0) || minSeparation < minAllowedSeparation) {
+            logger.warn("Invalid wormhole separation ({}) in {}, which must be at least {}. Using the default instead.",
+                    minSeparation, WORMHOLE_CONFIG_PATH, minAllowedSeparation);
+            minSeparation = Math.max(WORMHOLE_MIN_SEPARATION, minAllowedSeparation);
+        }
+        WormholeNetworkGenerator generator = new WormholeNetworkGenerator(galaxySnapshot, SolRandom.getSeed(),
+                minWormholes, maxWormholes, minSeparation, SunSingleton.SUN_HOT_RAD, WORMHOLE_STABILITY,
+                wormholeLinker);
+
+        String savePath = getSavePath(generator.getSeed());
+        if (!WORMHOLE_ASYNC_GENERATION) {
+            generatedNetwork.set(loadOrGenerateNetwork(generator, savePath));
+            return;
+        }
 
-                wormholePositions.add(position);
+        // Loading happens on the generation thread too, so that reading the file does not stall the game.
+        AtomicReference<WormholeNetwork> result = generatedNetwork;
+        Thread generationThread = new Thread(() -> {
+            try {
+                result.set(loadOrGenerateNetwork(generator, savePath));
+            } catch (RuntimeException e) {
+                logger.error("Failed to generate wormholes", e);
             }
+        }, "Wormhole Generation");
+        generationThread.setDaemon(true);
+        generationThread.start();
+    }
+
+    private static WormholeNetwork loadOrGenerateNetwork(WormholeNetworkGenerator generator, String savePath) {
+        // Re-use the saved wormholes for this galaxy, if there are any.
+        WormholeNetwork savedNetwork = loadNetwork(generator, savePath);
+        if (savedNetwork != null) {
+            return savedNetwork;
         }
 
-        // Link wormholes
-        do {
-            int wormholeNo = SolRandom.seededRandomInt(0, wormholePositions.size());
+        return WORMHOLE_STREAMING_GENERATION ? generator.link() : generator.generate(ForkJoinPool.commonPool());
+    }
 
-            int connectedWormholeNo;
-            do {
-                connectedWormholeNo = SolRandom.seededRandomInt(0, wormholePositions.size());
-            } while (connectedWormholeNo == wormholeNo);
+    private static String getSavePath(long seed) {
+        return SaveManager.getResourcePath(String.format(WORMHOLE_SAVE_FILE_FORMAT, seed));
+    }
 
-            Vector2 entryPosition = wormholePositions.get(wormholeNo);
-            Vector2 exitPosition = wormholePositions.get(connectedWormholeNo);
+    private static WormholeNetwork loadNetwork(WormholeNetworkGenerator generator, String savePath) {
+        if (saveFileDenied) {
+            return null;
+        }
 
-            Wormhole entry = new Wormhole(entryPosition);
-            Wormhole exit = new Wormhole(exitPosition);
-            entry.setConnectedWormhole(exit);
-            exit.setConnectedWormhole(entry);
+        try {
+            byte[] encodedNetwork = WormholeSaveFile.read(savePath);
+            if (encodedNetwork == null) {
+                return null;
+            }
+            return WormholeNetworkCodec.decode(ByteBuffer.wrap(encodedNetwork), generator);
+        } catch (IOException | SecurityException e) {
+            logger.warn("Unable to load the saved wormholes. They will be generated again.", e);
+            return null;
+        } catch (LinkageError e) {
+            // The module sandbox refuses to link classes that it does not permit, rather than throwing when used.
+            saveFileDenied = true;
+            logger.warn("Not permitted to access the saved wormholes. They will not be saved.", e);
+            return null;
+        }
+    }
 
-            wormholes.add(entry);
-            wormholes.add(exit);
+    /**
+     * Saves the wormholes. The network is encoded on the game thread, but written to disk in the background.
+     */
+    private static void saveNetwork() {
+        // Don't keep re-trying if saving fails, since it will most likely fail again.
+        wormholeNetwork.markSaved();
+        if (saveFileDenied) {
+            return;
+        }
 
-            wormholePositions.remove(entryPosition);
-            wormholePositions.remove(exitPosition);
-        } while (!wormholePositions.isEmpty());
+        byte[] encodedNetwork = WormholeNetworkCodec.encode(wormholeNetwork);
+        String savePath = getSavePath(wormholeNetwork.getSeed());
+        getBackgroundExecutor().execute(() -> writeNetwork(encodedNetwork, savePath));
+    }
+
+    private static void writeNetwork(byte[] encodedNetwork, String savePath) {
+        try {
+            WormholeSaveFile.write(savePath, encodedNetwork);
+        } catch (IOException | SecurityException e) {
+            logger.warn("Unable to save the wormholes.", e);
+        } catch (LinkageError e) {
+            saveFileDenied = true;
+            logger.warn("Not permitted to save the wormholes.", e);
+        }
+    }
 
-        SolRandom.setSeed(seed);
+    private static void spawnWormholes(SolGame game, WormholeNetwork network) {
+        wormholeNetwork = network;
+        wormholeStore = new WormholeStore(network, WORMHOLE_DEBUG ? 2 : 0);
+        wormholeActivator = new WormholeActivator(wormholeStore, WORMHOLE_ENTER_DISTANCE, WORMHOLE_EXIT_DISTANCE,
+                WORMHOLE_MAX_CHANGES_PER_FRAME);
+        wormholeInstances = new DistortionObject[wormholeStore.size()];
+        wormholeFarInstances = new FarDistortionObject[wormholeStore.size()];
+        routePlanner = new WormholeRoutePlanner(wormholeStore, WORMHOLE_ROUTE_LANDMARKS,
+                WORMHOLE_ROUTE_NEIGHBOUR_DISTANCE, WORMHOLE_ROUTE_NEIGHBOURS, WORMHOLE_ROUTE_SEARCH_LIMIT,
+                WORMHOLE_ROUTE_CELL_SIZE, WORMHOLE_ROUTE_CACHE_SIZE, getBackgroundExecutor());
+        nearWormholes = new BitSet(wormholeStore.size());
+        for (int system = 0; system < network.getSystemCount(); system++) {
+            if (network.isSystemGenerated(system)) {
+                wormholeStore.spawnSystem(system);
+            }
+        }
 
         // For debugging purposes, spawn two wormholes by the spawn point for testing.
         if (WORMHOLE_DEBUG) {
             Vector2 spawnPosition = game.getGalaxyFiller().getPlayerSpawnPos(game);
-            Wormhole entry = new Wormhole(new Vector2(spawnPosition.x + 10, spawnPosition.y));
-            Wormhole exit = new Wormhole(new Vector2(spawnPosition.x - 10, spawnPosition.y));
-            entry.setConnectedWormhole(exit);
-            exit.setConnectedWormhole(entry);
-            wormholes.add(entry);
-            wormholes.add(exit);
+            int entryId = network.size();
+            int exitId = entryId + 1;
+            wormholeStore.spawn(entryId, spawnPosition.x + 10, spawnPosition.y, exitId, WORMHOLE_STABILITY);
+            wormholeStore.spawn(exitId, spawnPosition.x - 10, spawnPosition.y, entryId, WORMHOLE_STABILITY);
         }
+
+        wormholeGrid = new WormholeGrid(WORMHOLE_ENTER_DISTANCE, wormholeStore);
     }
 
-    private boolean isPositionFree(SolGame game, List<Vector2> wormholePositions, Vector2 position) {
-        if (!game.isPlaceEmpty(position, true)) {
-            return false;
+    private static void spawnNearbySystems(Vector2 heroPosition) {
+        for (int system = 0; system < galaxySnapshot.getSystemCount(); system++) {
+            if (wormholeStore.isSystemSpawned(system)) {
+                continue;
+            }
+
+            float systemRadius = galaxySnapshot.getSystemRadius(system);
+            float distance = getSystemDistance(system, heroPosition);
+            if (distance < systemRadius + WORMHOLE_EXIT_DISTANCE) {
+                spawnSystem(system);
+            } else if (distance < systemRadius * WORMHOLE_PREFETCH_DISTANCE_MULTIPLIER) {
+                // Place the wormholes in the background, so that they are ready by the time the hero arrives.
+                wormholeNetwork.prefetchSystem(system, getBackgroundExecutor());
+            }
         }
+    }
+
+    /**
+     * Returns the distance from a point to the centre of a solar system, measured along whichever axis is furthest.
+     * Wormholes are placed in the square around each system, so this is what should be compared with its radius.
+     */
+    private static float getSystemDistance(int system, Vector2 position) {
+        return Math.max(Math.abs(position.x - galaxySnapshot.getSystemX(system)),
+                Math.abs(position.y - galaxySnapshot.getSystemY(system)));
+    }
+
+    /**
+     * Returns true if a wormhole's solar system can be read without waiting for it to be generated.
+     * @param id the ID of the wormhole
+     * @return if the wormhole's system is ready
+     */
+    private static boolean isSystemReady(int id) {
+        return id >= wormholeNetwork.size() || wormholeNetwork.isSystemReady(wormholeNetwork.getSystem(id));
+    }
+
+    /**
+     * Returns true if a wormhole has been placed, without waiting for its solar system to be generated.
+     * @param id the ID of the wormhole
+     * @return if the wormhole is known to have been placed
+     */
+    private static boolean isPlaced(int id) {
+        if (wormholeStore.isSpawned(id)) {
+            return true;
+        }
+        return id < wormholeNetwork.size() && isSystemReady(id) && wormholeNetwork.isPlaced(id);
+    }
 
-        for (Vector2 wormhole : wormholePositions) {
-            if (wormhole.dst(position) < 2) {
-                return false;
+    /**
+     * Ensures that a wormhole is spawned, generating its solar system if needed.
+     * @param id the ID of the wormhole
+     */
+    private static void spawnWormhole(int id) {
+        if (id < wormholeNetwork.size() && !wormholeStore.isSystemSpawned(wormholeNetwork.getSystem(id))) {
+            spawnSystem(wormholeNetwork.getSystem(id));
+        }
+    }
+
+    /**
+     * Spawns the wormholes in a solar system and adds them to the grid, generating the system first if needed.
+     * @param system the index of the solar system
+     */
+    private static void spawnSystem(int system) {
+        wormholeStore.spawnSystem(system);
+        int firstWormhole = wormholeNetwork.getFirstWormhole(system);
+        wormholeGrid.add(firstWormhole, firstWormhole + wormholeNetwork.getWormholesPerSystem());
+    }
+
+    private static ExecutorService getBackgroundExecutor() {
+        if (backgroundExecutor == null) {
+            backgroundExecutor = Executors.newSingleThreadExecutor(task -> {
+                Thread backgroundThread = new Thread(task, "Wormhole Background");
+                backgroundThread.setDaemon(true);
+                return backgroundThread;
+            });
+        }
+        return backgroundExecutor;
+    }
+
+    /**
+     * Returns true once the wormholes have been generated and spawned. Until then, there are no wormholes in the game.
+     * @return if the wormholes are ready
+     */
+    public static boolean isReady() {
+        return wormholeNetwork != null;
+    }
+
+    /**
+     * Finds the spawned wormholes within the specified distance of a point.
+     * @param position the point to search around
+     * @param radius the maximum distance from the point
+     * @param results the list to add the IDs of any wormholes found to. It is not cleared beforehand.
+     */
+    public static void getWormholesNear(Vector2 position, float radius, IntArray results) {
+        if (wormholeGrid != null) {
+            wormholeGrid.query(position, radius, results);
+        }
+    }
+
+    /**
+     * Finds the placed wormholes within the specified distance of a point, in solar systems that have been generated
+     * but not spawned, such as those that the hero has only come close to. Nothing is generated or spawned by this,
+     * so the wormholes of systems that have not been generated yet are not found.
+     * @param position the point to search around
+     * @param radius the maximum distance from the point
+     * @param results the list to add the IDs of any wormholes found to. It is not cleared beforehand.
+     */
+    public static void getUnspawnedWormholesNear(Vector2 position, float radius, IntArray results) {
+        if (wormholeNetwork == null) {
+            return;
+        }
+
+        float radiusSquared = radius * radius;
+        for (int system = 0; system < galaxySnapshot.getSystemCount(); system++) {
+            if (wormholeStore.isSystemSpawned(system) || !wormholeNetwork.isSystemReady(system)
+                    || getSystemDistance(system, position) >= galaxySnapshot.getSystemRadius(system) + radius) {
+                continue;
+            }
+
+            int firstWormhole = wormholeNetwork.getFirstWormhole(system);
+            for (int id = firstWormhole; id < firstWormhole + wormholeNetwork.getWormholesPerSystem(); id++) {
+                float deltaX = wormholeNetwork.getX(id) - position.x;
+                float deltaY = wormholeNetwork.getY(id) - position.y;
+                // Wormholes that were not placed have NaN co-ordinates, so are never within range.
+                if (deltaX * deltaX + deltaY * deltaY < radiusSquared) {
+                    results.add(id);
+                }
             }
         }
+    }
 
-        return true;
+    /**
+     * Returns the planner for routes through the wormholes that have been spawned so far.
+     * @return the route planner, or null if the wormholes are not ready yet
+     */
+    public static WormholeRoutePlanner getRoutePlanner() {
+        return routePlanner;
+    }
+
+    /**
+     * Sets the strategy used to pair up wormholes when they are next generated
+     * @param linker the linking strategy to use
+     */
+    public static void setWormholeLinker(WormholeLinker linker) {
+        wormholeLinker = linker;
+    }
+
+    /**
+     * Registers a listener to be notified when the hero comes near to a wormhole, or moves away from it again.
+     * The listener is notified straight away of any wormholes that the hero is already near to.
+     * @param listener the listener to add
+     */
+    public static void addProximityListener(WormholeProximityListener listener) {
+        proximityListeners.add(listener);
+        for (int id = nearWormholes.nextSetBit(0); id >= 0; id = nearWormholes.nextSetBit(id + 1)) {
+            listener.onWormholeEntered(id);
+        }
+    }
+
+    public static void removeProximityListener(WormholeProximityListener listener) {
+        proximityListeners.remove(listener);
+    }
+
+    /**
+     * Returns the object for a wormhole, if it is currently enabled near to the hero.
+     * @param id the ID of the wormhole
+     * @return the wormhole's object, or null if it is not enabled
+     */
+    public static DistortionObject getWormholeObject(int id) {
+        if (wormholeStore == null || !wormholeStore.isEnabled(id)) {
+            return null;
+        }
+        return wormholeInstances[id];
     }
 
     // TODO: make this non-static
@@ -206,84 +699,111 @@ public class WormholeDistortionProvider implements UpdateAwareSystem {
         return wormholeObjects;
     }
 
-    public class Wormhole {
-        private final Vector2 position;
-        private DistortionObject instance;
-        private Wormhole connectedWormhole;
-        private boolean enabled;
+    /**
+     * Returns a view of the wormhole with the specified ID. This never generates or spawns anything.
+     * @param id the ID of the wormhole
+     * @return the wormhole
+     */
+    public static Wormhole getWormhole(int id) {
+        return new Wormhole(id);
+    }
+
+    /**
+     * A view of a single wormhole. The wormhole's state is held in the shared {@link WormholeStore}.
+     */
+    public static class Wormhole {
+        private final int id;
 
-        public Wormhole(Vector2 position) {
-            this.position = position;
+        private Wormhole(int id) {
+            this.id = id;
         }
 
-        public Vector2 getPosition() {
-            return position;
+        public int getId() {
+            return id;
+        }
+
+        /**
+         * Copies the position of the wormhole into a vector. The position is known once the wormhole's solar system
+         * has been generated, even if it has not been spawned. It is NaN before then, or if it could not be placed.
+         * @param position the vector to store the position in
+         * @return the vector passed in, for chaining
+         */
+        public Vector2 getPosition(Vector2 position) {
+            if (!wormholeStore.isSpawned(id) && isPlaced(id)) {
+                return position.set(wormholeNetwork.getX(id), wormholeNetwork.getY(id));
+            }
+            return position.set(wormholeStore.getX(id), wormholeStore.getY(id));
+        }
+
+        public boolean isSpawned() {
+            return wormholeStore.isSpawned(id);
+        }
+
+        /**
+         * Returns true if ships can pass through this wormhole, which needs both this wormhole and the one that it
+         * leads to to have been placed. Neither needs to be spawned, but this is false if either of their solar
+         * systems has not been generated yet, rather than waiting for them.
+         * @return if the wormhole can be used
+         */
+        public boolean isUsable() {
+            return isPlaced(id) && isPlaced(wormholeStore.getLink(id));
         }
 
         public DistortionObject getInstance() {
-            return instance;
+            return wormholeInstances[id];
         }
 
         public void setInstance(DistortionObject instance) {
-            this.instance = instance;
+            wormholeInstances[id] = instance;
         }
 
+        /**
+         * Returns the wormhole that this one leads to, which may not have been spawned yet.
+         * @return the connected wormhole
+         */
         public Wormhole getConnectedWormhole() {
-            return connectedWormhole;
+            return getWormhole(wormholeStore.getLink(id));
         }
 
-        public void setConnectedWormhole(Wormhole connectedWormhole) {
-            this.connectedWormhole = connectedWormhole;
+        public float getStability() {
+            return wormholeStore.getStability(id);
         }
 
         public boolean isEnabled() {
-            return enabled;
+            return wormholeStore.isEnabled(id);
         }
 
         public void setEnabled(boolean enabled) {
-            this.enabled = enabled;
+            wormholeStore.setEnabled(id, enabled);
         }
     }
 
     public class DistortionObject implements SolObject {
+        private final int wormholeId;
         private final Vector2 wormholePosition;
         private final Vector2 target;
-        private final List<Drawable> drawables = new ArrayList<Drawable>();
-        private float wormholeStability;
+        /**
+         * The wormhole's only drawable. Each wormhole keeps its sprite for the whole game, along with the object.
+         */
+        private final List<Drawable> drawables;
 
-        public DistortionObject(Vector2 wormholePosition, Vector2 target, float stability) {
+        public DistortionObject(int wormholeId, Vector2 wormholePosition, Vector2 target) {
+            this.wormholeId = wormholeId;
             this.wormholePosition = wormholePosition;
             this.target = new Vector2(target).add(0.2f, 0.2f);
-            wormholeStability = stability;
-            drawables.add(new RectSprite(wormholeTexture, 1, 0, 0, Vector2.Zero,
+            drawables = Collections.<Drawable>singletonList(new RectSprite(wormholeTexture, 1, 0, 0, Vector2.Zero,
                     DrawableLevel.PART_FG_0, 0, 0, Color.WHITE, false));
         }
 
         @Override
         public void update(SolGame game) {
-            SolShip approachingShip = null;
-            float minShipDistance = Float.MAX_VALUE;
-            for (SolObject object : game.getObjectManager().getObjects()) {
-                if (object == this) {
-                    continue;
-                }
-                if (!(object instanceof SolShip)) {
-                    continue;
-                }
-
-                float distance = object.getPosition().dst(wormholePosition);
-                if (distance < ForceBeacon.MAX_PULL_DIST && distance < minShipDistance) {
-                    minShipDistance = distance;
-                    approachingShip = (SolShip) object;
-                }
-            };
+            SolShip approachingShip = ShipProximityService.getInstance().getNearestShip(game, wormholePosition,
+                    ForceBeacon.MAX_PULL_DIST);
 
+            // Ships are pulled towards the wormhole by the provider, for all of the wormholes at once.
             if (approachingShip != null && approachingShip.getHull().getHullConfig().getType() != HullConfig.Type.STATION) {
-                ForceBeacon.pullShips(game, this, wormholePosition, null, null, ForceBeacon.MAX_PULL_DIST);
                 if (approachingShip.getPosition().dst(wormholePosition) < 0.1f) {
-                    // NOTE: Setting the same ship angle causes it to deviate until it reaches NaN and crashes.
-                    approachingShip.getHull().getBody().setTransform(target, 0);
-                    approachingShip.receiveForce(approachingShip.getVelocity().cpy().scl(10, 10), game, true);
+                    WormholeTransitSystem.requestTransit(approachingShip, target);
                 }
             }
         }
@@ -303,7 +823,7 @@ public class WormholeDistortionProvider implements UpdateAwareSystem {
             // Wormholes cannot be damaged, except by energy weapons
             // TODO: the wormholes are not able to detect collisions yet
             if (dmgType == DmgType.ENERGY) {
-                wormholeStability -= dmg;
+                wormholeStore.setStability(wormholeId, wormholeStore.getStability(wormholeId) - dmg);
             }
         }
 
@@ -324,7 +844,18 @@ public class WormholeDistortionProvider implements UpdateAwareSystem {
 
         @Override
         public FarObject toFarObject() {
-            return new FarDistortionObject(wormholePosition, target, wormholeStability);
+            if (wormholeFarInstances[wormholeId] == null) {
+                wormholeFarInstances[wormholeId] = new FarDistortionObject(wormholeId, wormholePosition);
+            }
+            return wormholeFarInstances[wormholeId];
+        }
+
+        /**
+         * Returns the ID of the wormhole that this object represents, which stays the same for the whole game.
+         * @return the wormhole ID
+         */
+        public int getWormholeId() {
+            return wormholeId;
         }
 
         public List<Drawable> getDrawables() {
@@ -356,15 +887,13 @@ public class WormholeDistortionProvider implements UpdateAwareSystem {
         }
     }
 
-    public class FarDistortionObject implements FarObject {
+    public static class FarDistortionObject implements FarObject {
+        private final int wormholeId;
         private final Vector2 wormholePosition;
-        private final Vector2 target;
-        private final float stability;
 
-        public FarDistortionObject(Vector2 wormholePosition, Vector2 target, float stability) {
+        public FarDistortionObject(int wormholeId, Vector2 wormholePosition) {
+            this.wormholeId = wormholeId;
             this.wormholePosition = wormholePosition;
-            this.target = target;
-            this.stability = stability;
         }
 
         @Override
@@ -374,12 +903,13 @@ public class WormholeDistortionProvider implements UpdateAwareSystem {
 
         @Override
         public SolObject toObject(SolGame game) {
-            return new DistortionObject(wormholePosition, target, stability);
+            // Far objects are only ever created from near ones, so the wormhole's near object always exists.
+            return wormholeInstances[wormholeId];
         }
 
         @Override
         public void update(SolGame game) {
-
+            // Far ships are moved through wormholes by the WormholeTransitSystem, for all of the wormholes at once.
         }
 
         @Override
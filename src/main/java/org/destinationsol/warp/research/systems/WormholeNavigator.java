@@ -0,0 +1,213 @@
+/*
+ * Copyright 2026 The Terasology Foundation
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.destinationsol.warp.research.systems;
+
+import com.badlogic.gdx.math.Vector2;
+import com.badlogic.gdx.utils.IntArray;
+import org.destinationsol.game.SolGame;
+import org.destinationsol.game.input.MoveDestProvider;
+import org.destinationsol.game.input.Pilot;
+import org.destinationsol.game.ship.SolShip;
+import org.destinationsol.game.ship.hulls.HullConfig;
+import org.destinationsol.warp.research.wormholes.WormholeRoute;
+import org.destinationsol.warp.research.wormholes.WormholeRoutePlanner;
+
+/**
+ * Lets AI ships take shortcuts through wormholes, whilst otherwise moving as another destination provider decides.
+ *
+ * Routes come from the shared {@link WormholeRoutePlanner} cache, which is keyed by the cells of the start and end
+ * points, so ships travelling between the same areas share a single search. Each ship only looks its route up
+ * occasionally, rather than every frame.
+ *
+ * Only the wormholes near to the hero are in the game, so ships cannot rely on a wormhole pulling them in. Instead,
+ * the navigator asks for its ship to be moved through the wormhole once it reaches the entrance. If the ship still has
+ * not passed through after a while (such as when the exit is blocked), it flies directly to its destination instead,
+ * and ignores that wormhole for a while. Ships far from the hero are moved through wormholes by the
+ * {@link WormholeTransitSystem} instead, once they fly close enough.
+ */
+public class WormholeNavigator implements MoveDestProvider {
+    /**
+     * The time between route look-ups, in seconds.
+     */
+    private static final float ROUTE_UPDATE_INTERVAL = 0.5f;
+    /**
+     * The distance to the destination below which wormholes are never used.
+     */
+    private static final float MIN_ROUTE_DISTANCE = 10.0f;
+    /**
+     * The distance that a route through wormholes must save over flying directly for it to be taken.
+     */
+    private static final float MIN_ROUTE_SAVING = 5.0f;
+    /**
+     * The distance from the entrance within which a ship passes through a wormhole.
+     */
+    private static final float ENTRANCE_DISTANCE = 0.5f;
+    /**
+     * The time that a ship can spend at an entrance without passing through before giving up, in seconds.
+     */
+    private static final float ENTRANCE_TIMEOUT = 1.0f;
+    /**
+     * The time for which a wormhole that a ship gave up on is not used again, in seconds.
+     */
+    private static final float IGNORE_DURATION = 5.0f;
+    private final MoveDestProvider destinationProvider;
+    private final Vector2 wormholeDestination = new Vector2();
+    private final Vector2 exitPosition = new Vector2();
+    private final IntArray nearbyShips = new IntArray();
+    private Pilot pilot;
+    private boolean isUsingWormhole;
+    private int wormholeId;
+    private float routeUpdateTimer;
+    private float entranceTimer;
+    private int ignoredWormholeId = -1;
+    private float ignoreTimer;
+
+    /**
+     * Creates a new navigator.
+     * @param destinationProvider the provider of the ship's final destination, which is used whenever there is no
+     *                            faster route through the wormholes
+     */
+    public WormholeNavigator(MoveDestProvider destinationProvider) {
+        this.destinationProvider = destinationProvider;
+    }
+
+    /**
+     * Sets the pilot of the ship that this navigator steers, which is used to find the ship to move through wormholes.
+     * The pilot is used rather than the ship, since a new ship object is created whenever the ship comes near to the
+     * hero. Until this is set, the ship never passes through wormholes by itself.
+     * @param pilot the pilot using this navigator
+     */
+    public void setPilot(Pilot pilot) {
+        this.pilot = pilot;
+    }
+
+    @Override
+    public void update(SolGame game, Vector2 shipPos, float maxIdleDist, HullConfig hullConfig, SolShip nearestEnemy) {
+        destinationProvider.update(game, shipPos, maxIdleDist, hullConfig, nearestEnemy);
+
+        ignoreTimer -= game.getTimeStep();
+        if (isUsingWormhole && shipPos.dst(wormholeDestination) < ENTRANCE_DISTANCE) {
+            enterWormhole(game, shipPos);
+        } else {
+            entranceTimer = 0;
+        }
+
+        routeUpdateTimer -= game.getTimeStep();
+        if (routeUpdateTimer > 0) {
+            return;
+        }
+        routeUpdateTimer = ROUTE_UPDATE_INTERVAL;
+
+        isUsingWormhole = false;
+        WormholeRoutePlanner routePlanner = WormholeDistortionProvider.getRoutePlanner();
+        Vector2 destination = destinationProvider.getDestination();
+        if (routePlanner == null || destination == null) {
+            return;
+        }
+
+        float directDistance = shipPos.dst(destination);
+        if (directDistance < MIN_ROUTE_DISTANCE) {
+            return;
+        }
+
+        WormholeRoute route = routePlanner.getRoute(shipPos, destination);
+        if (route.getWormholeCount() > 0 && directDistance - route.getDistance() > MIN_ROUTE_SAVING
+                && (route.getWormhole(0) != ignoredWormholeId || ignoreTimer <= 0)) {
+            wormholeId = route.getWormhole(0);
+            WormholeDistortionProvider.getWormhole(wormholeId).getPosition(wormholeDestination);
+            isUsingWormhole = true;
+        }
+    }
+
+    /**
+     * Moves the ship through the wormhole at the entrance that it has reached, or gives up on the wormhole if the
+     * ship has been waiting at the entrance for too long.
+     */
+    private void enterWormhole(SolGame game, Vector2 shipPos) {
+        entranceTimer += game.getTimeStep();
+        if (entranceTimer > ENTRANCE_TIMEOUT) {
+            isUsingWormhole = false;
+            ignoredWormholeId = wormholeId;
+            ignoreTimer = IGNORE_DURATION;
+            entranceTimer = 0;
+            return;
+        }
+
+        // If the wormhole is in the game then it will request this too, but the ship is only moved once.
+        WormholeDistortionProvider.Wormhole entrance = WormholeDistortionProvider.getWormhole(wormholeId);
+        WormholeDistortionProvider.Wormhole exit = entrance.getConnectedWormhole();
+        SolShip ship = findShip(game, shipPos);
+        if (ship != null && entrance.isUsable()) {
+            // Exit slightly to one side of the wormhole, as ships passing through the wormhole objects do.
+            WormholeTransitSystem.requestTransit(ship, exit.getPosition(exitPosition).add(0.2f, 0.2f));
+            // Look the route up again from the exit next frame, rather than turning back to this entrance.
+            routeUpdateTimer = 0;
+        }
+    }
+
+    /**
+     * Finds the ship that this navigator steers, which should be at the position given. Ships far from the hero are
+     * not in the game, so they are never found.
+     * @return the ship, or null if it is not near to the hero
+     */
+    private SolShip findShip(SolGame game, Vector2 shipPos) {
+        if (pilot == null) {
+            return null;
+        }
+
+        ShipProximityService proximityService = ShipProximityService.getInstance();
+        nearbyShips.clear();
+        proximityService.getShipsWithin(game, shipPos, ENTRANCE_DISTANCE, nearbyShips);
+        for (int i = 0; i < nearbyShips.size; i++) {
+            SolShip ship = proximityService.getShip(nearbyShips.get(i));
+            if (ship.getPilot() == pilot) {
+                return ship;
+            }
+        }
+        return null;
+    }
+
+    @Override
+    public Vector2 getDestination() {
+        return isUsingWormhole ? wormholeDestination : destinationProvider.getDestination();
+    }
+
+    @Override
+    public boolean shouldAvoidBigObjects() {
+        return destinationProvider.shouldAvoidBigObjects();
+    }
+
+    @Override
+    public float getDesiredSpeed() {
+        return destinationProvider.getDesiredSpeed();
+    }
+
+    @Override
+    public Boolean shouldStopNearDestination() {
+        // Ships need to fly right into a wormhole to pass through it.
+        return isUsingWormhole ? Boolean.FALSE : destinationProvider.shouldStopNearDestination();
+    }
+
+    @Override
+    public Boolean shouldManeuver(boolean canShoot, SolShip nearestEnemy, float nearestEnemyDist) {
+        return destinationProvider.shouldManeuver(canShoot, nearestEnemy, nearestEnemyDist);
+    }
+
+    @Override
+    public Vector2 getDestinationVelocity() {
+        return isUsingWormhole ? Vector2.Zero : destinationProvider.getDestinationVelocity();
+    }
+}
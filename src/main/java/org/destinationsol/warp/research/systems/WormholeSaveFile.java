@@ -0,0 +1,80 @@
+/*
+ * Copyright 2026 The Terasology Foundation
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.destinationsol.warp.research.systems;
+
+import java.io.ByteArrayOutputStream;
+import java.io.File;
+import java.io.FileInputStream;
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+
+/**
+ * Reads and writes the saved wormholes. The file access is kept in this class, apart from the rest of the wormholes,
+ * so that if the module's permissions deny any of the classes used here, only saving is lost. The classes are only
+ * linked once these methods are first called, so callers should be prepared to catch a {@link LinkageError}.
+ */
+final class WormholeSaveFile {
+    private static final int BUFFER_SIZE = 8192;
+
+    private WormholeSaveFile() {
+    }
+
+    /**
+     * Reads a saved file.
+     * @param path the path of the file
+     * @return the contents of the file, or null if there is no such file
+     * @throws IOException if the file exists but could not be read
+     */
+    static byte[] read(String path) throws IOException {
+        File file = new File(path);
+        if (!file.isFile()) {
+            return null;
+        }
+
+        try (InputStream input = new FileInputStream(file)) {
+            ByteArrayOutputStream contents = new ByteArrayOutputStream((int) file.length());
+            byte[] buffer = new byte[BUFFER_SIZE];
+            for (int read = input.read(buffer); read >= 0; read = input.read(buffer)) {
+                contents.write(buffer, 0, read);
+            }
+            return contents.toByteArray();
+        }
+    }
+
+    /**
+     * Replaces the contents of a file. The contents are written to a temporary file first, so that a partly-written
+     * file is never left in its place.
+     * @param path the path of the file
+     * @param contents the new contents of the file
+     * @throws IOException if the file could not be written
+     */
+    static void write(String path, byte[] contents) throws IOException {
+        File file = new File(path);
+        File temporaryFile = new File(path + ".tmp");
+        try (OutputStream output = new FileOutputStream(temporaryFile)) {
+            output.write(contents);
+        }
+
+        if (file.exists() && !file.delete()) {
+            throw new IOException("Unable to replace " + path);
+        }
+        if (!temporaryFile.renameTo(file)) {
+            throw new IOException("Unable to rename " + temporaryFile + " to " + path);
+        }
+    }
+}
@@ -0,0 +1,283 @@
+/*
+ * Copyright 2026 The Terasology Foundation
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.destinationsol.warp.research.systems;
+
+import com.badlogic.gdx.math.Vector2;
+import com.badlogic.gdx.utils.IntArray;
+import com.badlogic.gdx.utils.IntFloatMap;
+import com.badlogic.gdx.utils.ObjectMap;
+import org.destinationsol.game.FarObjData;
+import org.destinationsol.game.FarObject;
+import org.destinationsol.game.SolGame;
+import org.destinationsol.game.UpdateAwareSystem;
+import org.destinationsol.game.attributes.RegisterUpdateSystem;
+import org.destinationsol.game.input.Pilot;
+import org.destinationsol.game.ship.FarShip;
+import org.destinationsol.game.ship.ForceBeacon;
+import org.destinationsol.game.ship.SolShip;
+import org.destinationsol.game.ship.hulls.HullConfig;
+
+import javax.inject.Inject;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Moves ships through wormholes.
+ *
+ * Wormholes only request that a ship be moved, whilst the game's objects are being updated. The requests are all
+ * carried out together here, once the rest of the game (including the physics step) has been updated for the tick,
+ * so that ships are never moved part-way through a step.
+ *
+ * Ships far from the hero have no physics bodies, so they are checked separately, less often, and moved through any
+ * wormholes that they come within range of directly. As they are checked less often, the whole path that each far ship
+ * has flown since it was last checked is tested, so that fast ships cannot skip over a wormhole between checks.
+ */
+@RegisterUpdateSystem(priority = Integer.MAX_VALUE)
+public class WormholeTransitSystem implements UpdateAwareSystem {
+    /**
+     * The time after passing through a wormhole before a ship can pass through another one, in seconds.
+     * This stops ships from bouncing back and forth between the two ends of a wormhole.
+     */
+    private static final float TRANSIT_COOLDOWN = 2.0f;
+    /**
+     * The distance around the exit that must be clear of other ships for a ship to pass through the wormhole.
+     */
+    private static final float EXIT_CLEARANCE = 0.5f;
+    private static final float EXIT_SPEED_MULTIPLIER = 10.0f;
+    /**
+     * The time between checks for far ships passing through wormholes, in seconds.
+     */
+    private static final float FAR_TRANSIT_INTERVAL = 0.5f;
+    /**
+     * The distance from a wormhole within which far ships pass through it. Near ships this close would be pulled in.
+     */
+    private static final float FAR_TRANSIT_DISTANCE = ForceBeacon.MAX_PULL_DIST;
+    private static final List<SolShip> transitShips = new ArrayList<SolShip>();
+    private static final List<Vector2> transitTargets = new ArrayList<Vector2>();
+    /**
+     * The game time at which each ship that has recently passed through a wormhole can pass through another.
+     * Ships are identified by their pilot, which is kept when a ship moves between being near and far from the hero,
+     * and the map is keyed by the pilot's identity hash. Should two pilots share a hash, the only effect is that one
+     * of them may have to wait out the other's cooldown.
+     */
+    private static final IntFloatMap transitCooldowns = new IntFloatMap();
+    /**
+     * The exits that ships have already been moved to this tick, which the proximity service does not know about yet.
+     */
+    private final List<Vector2> claimedExits = new ArrayList<Vector2>();
+    private final IntArray shipsAtExit = new IntArray();
+    private final IntArray nearbyWormholes = new IntArray();
+    private final Vector2 exitForce = new Vector2();
+    private final Vector2 exitPosition = new Vector2();
+    private final Vector2 pathCentre = new Vector2();
+    private final Vector2 wormholePosition = new Vector2();
+    /**
+     * The position of each far ship when it was last checked, so that the path flown since can be checked.
+     * The maps are swapped after each check, so that ships which are no longer far are forgotten.
+     */
+    private ObjectMap<FarShip, Vector2> farShipPositions = new ObjectMap<FarShip, Vector2>();
+    private ObjectMap<FarShip, Vector2> lastFarShipPositions = new ObjectMap<FarShip, Vector2>();
+    private float farTransitTimer;
+
+    @Inject
+    public WormholeTransitSystem() {
+        // A new system is created for each game, so forget the ships from any previous game.
+        transitShips.clear();
+        transitTargets.clear();
+        transitCooldowns.clear();
+    }
+
+    /**
+     * Requests that a ship be moved through a wormhole at the end of the current tick. The request is ignored if the
+     * ship has passed through a wormhole too recently, or if the exit is blocked by another ship.
+     * @param ship the ship to move
+     * @param target the position to move the ship to
+     */
+    public static void requestTransit(SolShip ship, Vector2 target) {
+        transitShips.add(ship);
+        transitTargets.add(target);
+    }
+
+    @Override
+    public void update(SolGame game, float timeStep) {
+        float time = game.getTime();
+        removeExpiredCooldowns(time);
+
+        claimedExits.clear();
+        for (int i = 0; i < transitShips.size(); i++) {
+            SolShip ship = transitShips.get(i);
+            Vector2 target = transitTargets.get(i);
+            // This also stops a ship queued by two wormholes at once from being moved twice.
+            // The exit is checked before searching the game's objects, since ships queue again each tick it is blocked.
+            if (isCoolingDown(ship.getPilot(), time) || !hasBody(game, ship) || isExitBlocked(game, ship, target)
+                    || !isInGame(game, ship)) {
+                continue;
+            }
+
+            // NOTE: Setting the same ship angle causes it to deviate until it reaches NaN and crashes.
+            ship.getHull().getBody().setTransform(target, 0);
+            exitForce.set(ship.getVelocity()).scl(EXIT_SPEED_MULTIPLIER);
+            ship.receiveForce(exitForce, game, true);
+            startCooldown(ship.getPilot(), time);
+            claimedExits.add(target);
+        }
+
+        transitShips.clear();
+        transitTargets.clear();
+
+        farTransitTimer -= timeStep;
+        if (farTransitTimer <= 0 && WormholeDistortionProvider.isReady()) {
+            farTransitTimer = FAR_TRANSIT_INTERVAL;
+            moveFarShips(game, time);
+        }
+    }
+
+    /**
+     * Moves any far ships that have passed within range of a wormhole since they were last checked through it. Far
+     * ships are only a position and velocity, so they can simply be moved to the exit, keeping their velocity.
+     * @param game the game to move ships in
+     * @param time the current game time
+     */
+    private void moveFarShips(SolGame game, float time) {
+        for (FarObjData farObjectData : game.getObjectManager().getFarObjs()) {
+            FarObject farObject = farObjectData.fo;
+            if (!(farObject instanceof FarShip)) {
+                continue;
+            }
+
+            FarShip farShip = (FarShip) farObject;
+            if (farShip.getHullConfig().getType() == HullConfig.Type.STATION) {
+                continue;
+            }
+
+            Vector2 lastPosition = lastFarShipPositions.remove(farShip);
+            if (lastPosition == null) {
+                lastPosition = new Vector2(farShip.getPosition());
+            }
+            int wormhole = isCoolingDown(farShip.getPilot(), time) ? -1
+                    : findWormholeOnPath(lastPosition, farShip.getPosition());
+            if (wormhole != -1) {
+                // Exit slightly to one side of the wormhole, as near ships do.
+                WormholeDistortionProvider.Wormhole exit = WormholeDistortionProvider.getWormhole(wormhole)
+                        .getConnectedWormhole();
+                farShip.setPos(exit.getPosition(exitPosition).add(0.2f, 0.2f));
+                startCooldown(farShip.getPilot(), time);
+            }
+
+            farShipPositions.put(farShip, lastPosition.set(farShip.getPosition()));
+        }
+
+        ObjectMap<FarShip, Vector2> positions = lastFarShipPositions;
+        lastFarShipPositions = farShipPositions;
+        farShipPositions = positions;
+        farShipPositions.clear();
+    }
+
+    /**
+     * Finds the first usable wormhole that a far ship passed within range of whilst flying in a straight line between
+     * two points. Far ships can also use the wormholes of solar systems that have been generated but not spawned, but
+     * they never cause a system to be generated, so wormholes leading to a system that is not ready are skipped.
+     * @param start the position of the ship when it was last checked
+     * @param end the current position of the ship
+     * @return the ID of the wormhole, or -1 if the ship did not pass any
+     */
+    private int findWormholeOnPath(Vector2 start, Vector2 end) {
+        float pathLengthSquared = start.dst2(end);
+        pathCentre.set(start).add(end).scl(0.5f);
+        float searchRadius = (float) Math.sqrt(pathLengthSquared) / 2 + FAR_TRANSIT_DISTANCE;
+        nearbyWormholes.clear();
+        WormholeDistortionProvider.getWormholesNear(pathCentre, searchRadius, nearbyWormholes);
+        WormholeDistortionProvider.getUnspawnedWormholesNear(pathCentre, searchRadius, nearbyWormholes);
+
+        int firstWormhole = -1;
+        float firstProgress = Float.POSITIVE_INFINITY;
+        for (int i = 0; i < nearbyWormholes.size; i++) {
+            int wormhole = nearbyWormholes.get(i);
+            WormholeDistortionProvider.Wormhole nearbyWormhole = WormholeDistortionProvider.getWormhole(wormhole);
+            if (!nearbyWormhole.isUsable()) {
+                continue;
+            }
+            nearbyWormhole.getPosition(wormholePosition);
+
+            // Find how far along the path the ship came closest to the wormhole, from 0 at the start to 1 at the end.
+            float progress = 0;
+            if (pathLengthSquared > 0) {
+                progress = ((wormholePosition.x - start.x) * (end.x - start.x)
+                        + (wormholePosition.y - start.y) * (end.y - start.y)) / pathLengthSquared;
+                progress = Math.max(0, Math.min(1, progress));
+            }
+            float closestX = start.x + (end.x - start.x) * progress;
+            float closestY = start.y + (end.y - start.y) * progress;
+            if (progress < firstProgress
+                    && wormholePosition.dst(closestX, closestY) < FAR_TRANSIT_DISTANCE) {
+                firstWormhole = wormhole;
+                firstProgress = progress;
+            }
+        }
+        return firstWormhole;
+    }
+
+    private static boolean isCoolingDown(Pilot pilot, float time) {
+        return transitCooldowns.get(System.identityHashCode(pilot), 0) > time;
+    }
+
+    private static void startCooldown(Pilot pilot, float time) {
+        transitCooldowns.put(System.identityHashCode(pilot), time + TRANSIT_COOLDOWN);
+    }
+
+    private static void removeExpiredCooldowns(float time) {
+        if (transitCooldowns.size == 0) {
+            return;
+        }
+
+        IntFloatMap.Entries entries = transitCooldowns.entries();
+        while (entries.hasNext()) {
+            if (entries.next().value <= time) {
+                entries.remove();
+            }
+        }
+    }
+
+    private static boolean hasBody(SolGame game, SolShip ship) {
+        return !ship.shouldBeRemoved(game) && ship.getHull().getBody() != null;
+    }
+
+    /**
+     * Checks that a ship has not been removed from the game (or moved far from the hero) since it was queued, so
+     * that it is safe to move. This searches all of the game's objects, so it should be checked last.
+     */
+    private static boolean isInGame(SolGame game, SolShip ship) {
+        return game.getObjectManager().getObjects().contains(ship);
+    }
+
+    private boolean isExitBlocked(SolGame game, SolShip ship, Vector2 target) {
+        for (int i = 0; i < claimedExits.size(); i++) {
+            if (claimedExits.get(i).dst(target) < EXIT_CLEARANCE) {
+                return true;
+            }
+        }
+
+        ShipProximityService proximityService = ShipProximityService.getInstance();
+        shipsAtExit.clear();
+        proximityService.getShipsWithin(game, target, EXIT_CLEARANCE, shipsAtExit);
+        for (int i = 0; i < shipsAtExit.size; i++) {
+            if (proximityService.getShip(shipsAtExit.get(i)) != ship) {
+                return true;
+            }
+        }
+        return false;
+    }
+}
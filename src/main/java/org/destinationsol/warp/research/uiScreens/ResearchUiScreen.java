@@ -29,6 +29,7 @@ import org.destinationsol.ui.UiDrawer;
 import org.destinationsol.ui.nui.screens.MainGameScreen;
 import org.destinationsol.warp.research.actions.ResearchAction;
 import org.destinationsol.warp.research.providers.ResearchProvider;
+import org.destinationsol.warp.research.systems.ResearchListener;
 import org.destinationsol.warp.research.systems.ResearchSystem;
 
 import java.util.HashMap;
@@ -36,7 +37,7 @@ import java.util.List;
 import java.util.ArrayList;
 import java.util.Map;
 
-public class ResearchUiScreen extends SolUiBaseScreen {
+public class ResearchUiScreen extends SolUiBaseScreen implements ResearchListener {
     private static final float BUTTON_WIDTH = 0.86f;
     private static final float BUTTON_HEIGHT = 0.04f;
     private static final int BUTTONS_PER_PAGE = Const.ITEM_GROUPS_PER_PAGE;
@@ -49,9 +50,14 @@ public class ResearchUiScreen extends SolUiBaseScreen {
     private SolUiControl sellResearchControl;
     private SolUiControl closeControl;
     private int actionsPage;
+    /**
+     * Set when the research actions have changed, so that the buttons are only re-created when needed.
+     */
+    private boolean actionsChanged;
 
     public ResearchUiScreen(ResearchSystem researchSystem) {
         this.researchSystem = researchSystem;
+        researchSystem.addResearchListener(this);
     }
 
     public void onAdd(SolApplication application) {
@@ -116,9 +122,12 @@ public class ResearchUiScreen extends SolUiBaseScreen {
 
         researchTextControl.setDisplayName("Research: " + Integer.toString((int) researchSystem.getResearchPoints()));
 
-        researchButtons.values().forEach(buttons -> controls.removeAll(buttons));
-        researchButtons.clear();
-        populateResearchButtons();
+        if (actionsChanged) {
+            researchButtons.values().forEach(buttons -> controls.removeAll(buttons));
+            researchButtons.clear();
+            populateResearchButtons();
+            actionsChanged = false;
+        }
 
         sellResearchControl.setEnabled(((MainGameScreen) solApplication.getNuiManager().getScreens().stream()
                 .filter(screen -> screen instanceof MainGameScreen).findFirst().get())
@@ -129,12 +138,14 @@ public class ResearchUiScreen extends SolUiBaseScreen {
 
         if (previousButton.isJustOff()) {
             actionsPage--;
+            actionsChanged = true;
         }
 
         nextButton.setEnabled(actionsPage < researchButtons.keySet().size() - 1);
 
         if (nextButton.isJustOff()) {
             actionsPage++;
+            actionsChanged = true;
         }
 
         if (sellResearchControl.isJustOff()) {
@@ -143,6 +154,21 @@ public class ResearchUiScreen extends SolUiBaseScreen {
         }
     }
 
+    @Override
+    public void onActionDiscovered(ResearchProvider provider, ResearchAction action) {
+        actionsChanged = true;
+    }
+
+    @Override
+    public void onResearchProgress(ResearchAction action, int progress) {
+        actionsChanged = true;
+    }
+
+    @Override
+    public void onActionCompleted(ResearchAction action) {
+        actionsChanged = true;
+    }
+
     @Override
     public boolean reactsToClickOutside() {
         return true;
@@ -15,32 +15,37 @@
  */
 package org.destinationsol.warp.research.warnDrawers;
 
-import org.destinationsol.game.SolGame;
 import org.destinationsol.ui.nui.widgets.UIWarnDrawer;
-import org.destinationsol.warp.research.systems.WormholeDistortionProvider;
+import org.destinationsol.warp.research.wormholes.WormholeProximityListener;
 import org.terasology.nui.Color;
 import org.terasology.nui.UITextureRegion;
 import org.terasology.nui.databinding.ReadOnlyBinding;
 import org.terasology.nui.widgets.UILabel;
 
-public class WormholeWarnDrawer extends UIWarnDrawer {
-    private static final float WARN_UPDATE_INTERVAL = 0.5f;
-    private float warnUpdateTimer = WARN_UPDATE_INTERVAL;
+/**
+ * Warns the player whilst the hero is near to any wormholes. The warning is driven by the proximity events from
+ * {@link org.destinationsol.warp.research.systems.WormholeDistortionProvider}, so it updates in the same frame.
+ */
+public class WormholeWarnDrawer extends UIWarnDrawer implements WormholeProximityListener {
+    private int nearWormholeCount;
 
-    public WormholeWarnDrawer(SolGame game, UITextureRegion background) {
+    public WormholeWarnDrawer(UITextureRegion background) {
         super("wormholeWarnDrawer", background, new Color(0xffa500ff), new UILabel("Distortion Near"));
         this.bindWarn(new ReadOnlyBinding<Boolean>() {
             @Override
             public Boolean get() {
-                warnUpdateTimer -= game.getTimeStep();
-                if (warnUpdateTimer <= 0) {
-                    warnUpdateTimer = WARN_UPDATE_INTERVAL;
-                    return WormholeDistortionProvider.getWormholeObjects().stream().anyMatch(
-                            element -> element.getPosition().dst(game.getHero().getPosition()) < 5.0f);
-                } else {
-                    return false;
-                }
+                return nearWormholeCount > 0;
             }
         });
     }
+
+    @Override
+    public void onWormholeEntered(int wormholeId) {
+        nearWormholeCount++;
+    }
+
+    @Override
+    public void onWormholeLeft(int wormholeId) {
+        nearWormholeCount--;
+    }
 }
@@ -0,0 +1,155 @@
+/*
+ * Copyright 2026 The Terasology Foundation
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.destinationsol.warp.research.wormholes;
+
+import com.badlogic.gdx.math.Vector2;
+import org.destinationsol.game.maze.Maze;
+import org.destinationsol.game.planet.Planet;
+import org.destinationsol.game.planet.SolarSystem;
+
+import java.util.List;
+
+/**
+ * An immutable copy of the parts of the galaxy needed to place wormholes.
+ * It can be safely read from other threads whilst the game carries on updating the real solar systems.
+ */
+public class GalaxySnapshot {
+    private final float[] systemX;
+    private final float[] systemY;
+    private final float[] systemRadius;
+    private final float[][] planetX;
+    private final float[][] planetY;
+    private final float[][] planetRadius;
+    private final float[] mazeX;
+    private final float[] mazeY;
+    private final float[] mazeRadius;
+
+    private GalaxySnapshot(int systemCount, int mazeCount) {
+        systemX = new float[systemCount];
+        systemY = new float[systemCount];
+        systemRadius = new float[systemCount];
+        planetX = new float[systemCount][];
+        planetY = new float[systemCount][];
+        planetRadius = new float[systemCount][];
+        mazeX = new float[mazeCount];
+        mazeY = new float[mazeCount];
+        mazeRadius = new float[mazeCount];
+    }
+
+    /**
+     * Copies the current state of the specified solar systems and mazes. This must be called from the game thread.
+     * @param systems the solar systems to copy
+     * @param mazes the mazes to copy
+     * @return the snapshot of the galaxy
+     */
+    public static GalaxySnapshot capture(List<SolarSystem> systems, List<Maze> mazes) {
+        GalaxySnapshot snapshot = new GalaxySnapshot(systems.size(), mazes.size());
+        for (int systemNo = 0; systemNo < systems.size(); systemNo++) {
+            SolarSystem system = systems.get(systemNo);
+            snapshot.systemX[systemNo] = system.getPosition().x;
+            snapshot.systemY[systemNo] = system.getPosition().y;
+            snapshot.systemRadius[systemNo] = system.getRadius();
+
+            List<Planet> planets = system.getPlanets();
+            snapshot.planetX[systemNo] = new float[planets.size()];
+            snapshot.planetY[systemNo] = new float[planets.size()];
+            snapshot.planetRadius[systemNo] = new float[planets.size()];
+            for (int planetNo = 0; planetNo < planets.size(); planetNo++) {
+                Planet planet = planets.get(planetNo);
+                snapshot.planetX[systemNo][planetNo] = planet.getPosition().x;
+                snapshot.planetY[systemNo][planetNo] = planet.getPosition().y;
+                snapshot.planetRadius[systemNo][planetNo] = planet.getFullHeight();
+            }
+        }
+
+        for (int mazeNo = 0; mazeNo < mazes.size(); mazeNo++) {
+            Maze maze = mazes.get(mazeNo);
+            snapshot.mazeX[mazeNo] = maze.getPos().x;
+            snapshot.mazeY[mazeNo] = maze.getPos().y;
+            snapshot.mazeRadius[mazeNo] = maze.getRadius();
+        }
+        return snapshot;
+    }
+
+    /**
+     * Creates a snapshot of solar systems without any planets or mazes, for generating wormholes away from the game.
+     * @param x the x co-ordinate of each system
+     * @param y the y co-ordinate of each system
+     * @param radius the radius of each system
+     * @return the snapshot of the systems
+     */
+    static GalaxySnapshot createWithoutPlanets(float[] x, float[] y, float[] radius) {
+        GalaxySnapshot snapshot = new GalaxySnapshot(x.length, 0);
+        for (int systemNo = 0; systemNo < x.length; systemNo++) {
+            snapshot.systemX[systemNo] = x[systemNo];
+            snapshot.systemY[systemNo] = y[systemNo];
+            snapshot.systemRadius[systemNo] = radius[systemNo];
+            snapshot.planetX[systemNo] = new float[0];
+            snapshot.planetY[systemNo] = new float[0];
+            snapshot.planetRadius[systemNo] = new float[0];
+        }
+        return snapshot;
+    }
+
+    public int getSystemCount() {
+        return systemX.length;
+    }
+
+    public Vector2 getSystemPosition(int system) {
+        return new Vector2(systemX[system], systemY[system]);
+    }
+
+    public float getSystemX(int system) {
+        return systemX[system];
+    }
+
+    public float getSystemY(int system) {
+        return systemY[system];
+    }
+
+    public float getSystemRadius(int system) {
+        return systemRadius[system];
+    }
+
+    /**
+     * Checks that a position in a system is not obstructed by any of the system's planets (including their
+     * atmospheres), or by any maze. The area around the sun is not checked, since wormholes are never placed there.
+     * @param system the index of the system containing the position
+     * @param position the position to check
+     * @return true, if the position is clear of all planets in the system and all mazes
+     */
+    public boolean isPlaceFree(int system, Vector2 position) {
+        for (int planetNo = 0; planetNo < planetX[system].length; planetNo++) {
+            if (isWithin(planetX[system][planetNo], planetY[system][planetNo], planetRadius[system][planetNo],
+                    position)) {
+                return false;
+            }
+        }
+
+        for (int mazeNo = 0; mazeNo < mazeX.length; mazeNo++) {
+            if (isWithin(mazeX[mazeNo], mazeY[mazeNo], mazeRadius[mazeNo], position)) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    private static boolean isWithin(float centreX, float centreY, float radius, Vector2 position) {
+        float deltaX = centreX - position.x;
+        float deltaY = centreY - position.y;
+        return deltaX * deltaX + deltaY * deltaY < radius * radius;
+    }
+}
@@ -0,0 +1,143 @@
+/*
+ * Copyright 2026 The Terasology Foundation
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.destinationsol.warp.research.wormholes;
+
+import com.badlogic.gdx.math.Vector2;
+
+import java.util.Arrays;
+import java.util.Random;
+import java.util.function.Predicate;
+
+/**
+ * Places points randomly around a solar system, whilst keeping a minimum distance between them (Poisson-disc sampling).
+ *
+ * Candidate points are drawn uniformly from the square around the system, excluding the area near to the sun.
+ * Each candidate is checked against a background grid of the points already placed, which has cells small enough to
+ * contain at most one point each, so checking a candidate only needs to look at the few cells around it.
+ * Every point gets a bounded number of attempts. In a system too crowded to satisfy the constraints, the point is
+ * skipped, so fewer points than requested may be placed, but every point placed satisfies both constraints.
+ */
+public class PoissonDiscSampler {
+    private static final int MAX_ATTEMPTS_PER_POINT = 30;
+    private final float minDistance;
+    private final float cellSize;
+    private int[] grid = new int[0];
+    private float[] pointX = new float[0];
+    private float[] pointY = new float[0];
+
+    /**
+     * Creates a new sampler.
+     * @param minDistance the minimum distance to maintain between any two points
+     */
+    public PoissonDiscSampler(float minDistance) {
+        this.minDistance = minDistance;
+        // With this cell size, the diagonal of a cell is the minimum distance, so no cell can contain two points.
+        this.cellSize = minDistance / (float) Math.sqrt(2);
+    }
+
+    /**
+     * Places points in the area between the inner and outer distances from a centre point, on both axes.
+     * One point is attempted for each element of the arrays. Any points that could not be placed are set to NaN.
+     * @param centre the centre of the area, usually the sun
+     * @param innerDistance the distance from the centre on each axis before which no points will be placed
+     * @param outerDistance the distance from the centre on each axis beyond which no points will be placed
+     * @param x the array to store the x co-ordinate of each point in
+     * @param y the array to store the y co-ordinate of each point in
+     * @param random the random number generator to draw points from
+     * @param isPlaceFree an additional check for each point, which should return false if the point is obstructed
+     * @return the number of points placed
+     */
+    public int sample(Vector2 centre, float innerDistance, float outerDistance, float[] x, float[] y, Random random,
+                      Predicate<Vector2> isPlaceFree) {
+        int gridWidth = Math.max(1, (int) Math.ceil((outerDistance * 2) / cellSize));
+        resetGrid(gridWidth * gridWidth, x.length);
+        float originX = centre.x - outerDistance;
+        float originY = centre.y - outerDistance;
+
+        int pointCount = 0;
+        Vector2 candidate = new Vector2();
+        for (int pointNo = 0; pointNo < x.length; pointNo++) {
+            boolean placed = false;
+            for (int attempt = 0; attempt < MAX_ATTEMPTS_PER_POINT && !placed; attempt++) {
+                candidate.set(getCoordinate(random, centre.x, innerDistance, outerDistance),
+                        getCoordinate(random, centre.y, innerDistance, outerDistance));
+                placed = isFarEnough(candidate.x, candidate.y, getCell(candidate.x, originX, gridWidth),
+                        getCell(candidate.y, originY, gridWidth), gridWidth) && isPlaceFree.test(candidate);
+            }
+
+            if (!placed) {
+                x[pointNo] = Float.NaN;
+                y[pointNo] = Float.NaN;
+                continue;
+            }
+
+            x[pointNo] = candidate.x;
+            y[pointNo] = candidate.y;
+            pointX[pointCount] = candidate.x;
+            pointY[pointCount] = candidate.y;
+            pointCount++;
+            // Cells store the point index plus one, so that zero can mean empty.
+            int cellX = getCell(candidate.x, originX, gridWidth);
+            int cellY = getCell(candidate.y, originY, gridWidth);
+            grid[cellY * gridWidth + cellX] = pointCount;
+        }
+
+        return pointCount;
+    }
+
+    private int getCell(float coordinate, float origin, int gridWidth) {
+        return Math.min(gridWidth - 1, Math.max(0, (int) ((coordinate - origin) / cellSize)));
+    }
+
+    private float getCoordinate(Random random, float centre, float innerDistance, float outerDistance) {
+        float offset = innerDistance + random.nextFloat() * (outerDistance - innerDistance);
+        return random.nextBoolean() ? centre + offset : centre - offset;
+    }
+
+    private boolean isFarEnough(float x, float y, int cellX, int cellY, int gridWidth) {
+        // Any point closer than the minimum distance must be at most two cells away on each axis.
+        float minDistanceSquared = minDistance * minDistance;
+        for (int neighbourY = Math.max(0, cellY - 2); neighbourY <= Math.min(gridWidth - 1, cellY + 2); neighbourY++) {
+            for (int neighbourX = Math.max(0, cellX - 2); neighbourX <= Math.min(gridWidth - 1, cellX + 2); neighbourX++) {
+                int point = grid[neighbourY * gridWidth + neighbourX] - 1;
+                if (point < 0) {
+                    continue;
+                }
+
+                float deltaX = pointX[point] - x;
+                float deltaY = pointY[point] - y;
+                if (deltaX * deltaX + deltaY * deltaY < minDistanceSquared) {
+                    return false;
+                }
+            }
+        }
+
+        return true;
+    }
+
+    private void resetGrid(int cellCount, int pointCount) {
+        if (grid.length < cellCount) {
+            grid = new int[cellCount];
+        } else {
+            Arrays.fill(grid, 0, cellCount, 0);
+        }
+
+        if (pointX.length < pointCount) {
+            pointX = new float[pointCount];
+            pointY = new float[pointCount];
+        }
+    }
+}
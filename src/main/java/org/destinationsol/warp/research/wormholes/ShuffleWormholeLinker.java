@@ -0,0 +1,49 @@
+/*
+ * Copyright 2026 The Terasology Foundation
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.destinationsol.warp.research.wormholes;
+
+import java.util.Random;
+
+/**
+ * Links wormholes in random pairs, regardless of where they are.
+ *
+ * The wormholes are shuffled (using a Fisher-Yates shuffle) and then each wormhole is linked with its neighbour,
+ * which takes linear time. The positions of the wormholes are never read.
+ */
+public class ShuffleWormholeLinker implements WormholeLinker {
+    @Override
+    public int[] link(WormholeNetwork network, Random random) {
+        int count = network.size();
+        int[] order = new int[count];
+        for (int i = 0; i < count; i++) {
+            order[i] = i;
+        }
+
+        for (int i = count - 1; i > 0; i--) {
+            int swapIndex = random.nextInt(i + 1);
+            int swapped = order[i];
+            order[i] = order[swapIndex];
+            order[swapIndex] = swapped;
+        }
+
+        int[] links = new int[count];
+        for (int i = 0; i + 1 < count; i += 2) {
+            links[order[i]] = order[i + 1];
+            links[order[i + 1]] = order[i];
+        }
+        return links;
+    }
+}
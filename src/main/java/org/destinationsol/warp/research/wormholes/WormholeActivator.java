@@ -0,0 +1,111 @@
+/*
+ * Copyright 2026 The Terasology Foundation
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.destinationsol.warp.research.wormholes;
+
+import com.badlogic.gdx.math.Vector2;
+import com.badlogic.gdx.utils.IntArray;
+
+/**
+ * Decides which wormholes should be added to or removed from the game each frame, as the hero moves around.
+ *
+ * Wormholes are added within the enter distance of the hero and removed again beyond the larger exit distance, so
+ * that a hero hovering around the edge does not add and remove the same wormhole every frame. Only a limited number
+ * of wormholes are added and removed each frame. Any more wait for later frames, with the closest wormholes added
+ * first and the furthest removed first.
+ */
+public class WormholeActivator {
+    private final WormholeStore store;
+    private final float enterDistance;
+    private final float exitDistance;
+    private final int maxChangesPerFrame;
+    private final IntArray nearbyWormholes = new IntArray();
+    private final WormholePriorityQueue wormholesToEnable = new WormholePriorityQueue();
+    private final WormholePriorityQueue wormholesToDisable = new WormholePriorityQueue();
+
+    /**
+     * Creates a new activator.
+     * @param store the wormholes to activate. Their enabled flags are used to tell which wormholes are in the game.
+     * @param enterDistance the distance from the hero within which wormholes are added to the game
+     * @param exitDistance the distance from the hero beyond which wormholes are removed from the game again
+     * @param maxChangesPerFrame the maximum number of wormholes added to (and removed from) the game each frame
+     */
+    public WormholeActivator(WormholeStore store, float enterDistance, float exitDistance, int maxChangesPerFrame) {
+        this.store = store;
+        this.enterDistance = enterDistance;
+        this.exitDistance = exitDistance;
+        this.maxChangesPerFrame = maxChangesPerFrame;
+    }
+
+    /**
+     * Works out which wormholes to add to and remove from the game this frame. The caller is responsible for adding
+     * and removing them, and for updating their enabled flags in the store.
+     * @param grid the grid of spawned wormholes
+     * @param heroPosition the current position of the hero
+     * @param enable the list to add the IDs of the wormholes to add to the game to. It is cleared beforehand.
+     * @param disable the list to add the IDs of the wormholes to remove from the game to. It is cleared beforehand.
+     */
+    public void update(WormholeGrid grid, Vector2 heroPosition, IntArray enable, IntArray disable) {
+        enable.clear();
+        disable.clear();
+
+        // Only the wormholes that are already enabled can need disabling, so there is no need to check the others.
+        wormholesToDisable.clear();
+        float exitDistanceSquared = exitDistance * exitDistance;
+        for (int id = store.nextEnabled(0); id >= 0; id = store.nextEnabled(id + 1)) {
+            if (!store.isSpawned(id)) {
+                // Despawned wormholes have no position, so remove them before any others.
+                wormholesToDisable.add(id, Float.NEGATIVE_INFINITY);
+                continue;
+            }
+
+            float distanceSquared = getDistanceSquared(id, heroPosition);
+            if (distanceSquared >= exitDistanceSquared) {
+                wormholesToDisable.add(id, -distanceSquared);
+            }
+        }
+        for (int i = 0; i < maxChangesPerFrame && !wormholesToDisable.isEmpty(); i++) {
+            disable.add(wormholesToDisable.poll());
+        }
+
+        wormholesToEnable.clear();
+        nearbyWormholes.clear();
+        grid.query(heroPosition, enterDistance, nearbyWormholes);
+        for (int i = 0; i < nearbyWormholes.size; i++) {
+            int id = nearbyWormholes.get(i);
+            if (!store.isEnabled(id)) {
+                wormholesToEnable.add(id, getDistanceSquared(id, heroPosition));
+            }
+        }
+        for (int i = 0; i < maxChangesPerFrame && !wormholesToEnable.isEmpty(); i++) {
+            enable.add(wormholesToEnable.poll());
+        }
+    }
+
+    /**
+     * Returns the wormholes found within the enter distance of the hero by the last update, whether they are
+     * enabled or not.
+     * @return the IDs of the nearby wormholes
+     */
+    public IntArray getNearbyWormholes() {
+        return nearbyWormholes;
+    }
+
+    private float getDistanceSquared(int id, Vector2 position) {
+        float deltaX = store.getX(id) - position.x;
+        float deltaY = store.getY(id) - position.y;
+        return deltaX * deltaX + deltaY * deltaY;
+    }
+}
@@ -0,0 +1,204 @@
+/*
+ * Copyright 2026 The Terasology Foundation
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.destinationsol.warp.research.wormholes;
+
+import com.badlogic.gdx.math.Vector2;
+import com.badlogic.gdx.utils.IntArray;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+/**
+ * A uniform grid over the wormhole positions, used to find the wormholes near a point without visiting all of them.
+ * Wormholes are referred to by their ID in the store used to build the grid.
+ *
+ * The grid is made up of blocks, each indexing the wormholes added at the same time (usually a single solar system),
+ * so that newly-spawned wormholes can be added without rebuilding the rest of the grid. Wormholes that are despawned
+ * afterwards are skipped when querying, rather than removed.
+ */
+public class WormholeGrid {
+    private final float cellSize;
+    private final WormholeStore store;
+    private final List<Block> blocks = new ArrayList<>();
+
+    /**
+     * Builds a new grid containing all of the wormholes currently spawned.
+     * @param cellSize the width and height of each grid cell. This should be similar to the radius usually queried.
+     * @param store the wormholes to index
+     */
+    public WormholeGrid(float cellSize, WormholeStore store) {
+        this.cellSize = cellSize;
+        this.store = store;
+        add(0, store.size());
+    }
+
+    /**
+     * Builds a new grid containing a set of points.
+     * @param cellSize the width and height of each grid cell. This should be similar to the radius usually queried.
+     * @param ids the index returned by queries for each point
+     * @param pointX the x co-ordinate of each point
+     * @param pointY the y co-ordinate of each point
+     */
+    WormholeGrid(float cellSize, int[] ids, float[] pointX, float[] pointY) {
+        this.cellSize = cellSize;
+        store = null;
+        addBlock(ids, pointX, pointY);
+    }
+
+    /**
+     * Adds the spawned wormholes within a range of IDs to the grid, such as the wormholes of a newly-spawned solar
+     * system. The range should not overlap anything added before.
+     * @param fromId the first ID to add
+     * @param toId the ID after the last one to add
+     */
+    public void add(int fromId, int toId) {
+        IntArray ids = new IntArray();
+        for (int id = store.nextSpawned(fromId); id >= 0 && id < toId; id = store.nextSpawned(id + 1)) {
+            ids.add(id);
+        }
+        if (ids.size == 0) {
+            return;
+        }
+
+        float[] pointX = new float[ids.size];
+        float[] pointY = new float[ids.size];
+        for (int i = 0; i < ids.size; i++) {
+            pointX[i] = store.getX(ids.get(i));
+            pointY[i] = store.getY(ids.get(i));
+        }
+        addBlock(ids.toArray(), pointX, pointY);
+    }
+
+    private void addBlock(int[] ids, float[] pointX, float[] pointY) {
+        int count = ids.length;
+        long[] keys = new long[count];
+        for (int point = 0; point < count; point++) {
+            keys[point] = getCellKey(getCell(pointX[point]), getCell(pointY[point]));
+        }
+
+        // Find the distinct non-empty cells, then count the points in each one so that they can be stored contiguously.
+        long[] sortedKeys = keys.clone();
+        Arrays.sort(sortedKeys);
+        int cellCount = 0;
+        for (int i = 0; i < count; i++) {
+            if (i == 0 || sortedKeys[i] != sortedKeys[i - 1]) {
+                sortedKeys[cellCount++] = sortedKeys[i];
+            }
+        }
+
+        Block block = new Block();
+        block.cellKeys = Arrays.copyOf(sortedKeys, cellCount);
+        block.cellStarts = new int[cellCount + 1];
+        int[] pointCells = new int[count];
+        for (int point = 0; point < count; point++) {
+            pointCells[point] = Arrays.binarySearch(block.cellKeys, keys[point]);
+            block.cellStarts[pointCells[point] + 1]++;
+        }
+        for (int cell = 0; cell < cellCount; cell++) {
+            block.cellStarts[cell + 1] += block.cellStarts[cell];
+        }
+
+        block.entries = new int[count];
+        block.entryX = new float[count];
+        block.entryY = new float[count];
+        int[] nextEntries = Arrays.copyOf(block.cellStarts, cellCount);
+        block.minCellX = Integer.MAX_VALUE;
+        block.maxCellX = Integer.MIN_VALUE;
+        block.minCellY = Integer.MAX_VALUE;
+        block.maxCellY = Integer.MIN_VALUE;
+        for (int point = 0; point < count; point++) {
+            int entry = nextEntries[pointCells[point]]++;
+            block.entries[entry] = ids[point];
+            block.entryX[entry] = pointX[point];
+            block.entryY[entry] = pointY[point];
+            block.minCellX = Math.min(block.minCellX, getCell(pointX[point]));
+            block.maxCellX = Math.max(block.maxCellX, getCell(pointX[point]));
+            block.minCellY = Math.min(block.minCellY, getCell(pointY[point]));
+            block.maxCellY = Math.max(block.maxCellY, getCell(pointY[point]));
+        }
+        blocks.add(block);
+    }
+
+    /**
+     * Finds all of the wormholes within the specified distance of a point.
+     * @param centre the point to search around
+     * @param radius the maximum distance from the point
+     * @param results the list to add the indices of any wormholes found to. It is not cleared beforehand.
+     */
+    public void query(Vector2 centre, float radius, IntArray results) {
+        int minCellX = getCell(centre.x - radius);
+        int maxCellX = getCell(centre.x + radius);
+        int minCellY = getCell(centre.y - radius);
+        int maxCellY = getCell(centre.y + radius);
+        float radiusSquared = radius * radius;
+
+        for (int blockIndex = 0; blockIndex < blocks.size(); blockIndex++) {
+            Block block = blocks.get(blockIndex);
+            int fromCellX = Math.max(minCellX, block.minCellX);
+            int toCellX = Math.min(maxCellX, block.maxCellX);
+            int fromCellY = Math.max(minCellY, block.minCellY);
+            int toCellY = Math.min(maxCellY, block.maxCellY);
+            for (int cellX = fromCellX; cellX <= toCellX; cellX++) {
+                for (int cellY = fromCellY; cellY <= toCellY; cellY++) {
+                    int cell = Arrays.binarySearch(block.cellKeys, getCellKey(cellX, cellY));
+                    if (cell < 0) {
+                        continue;
+                    }
+
+                    for (int entry = block.cellStarts[cell]; entry < block.cellStarts[cell + 1]; entry++) {
+                        float deltaX = block.entryX[entry] - centre.x;
+                        float deltaY = block.entryY[entry] - centre.y;
+                        if (deltaX * deltaX + deltaY * deltaY < radiusSquared
+                                && (store == null || store.isSpawned(block.entries[entry]))) {
+                            results.add(block.entries[entry]);
+                        }
+                    }
+                }
+            }
+        }
+    }
+
+    private int getCell(float coordinate) {
+        return (int) Math.floor(coordinate / cellSize);
+    }
+
+    private static long getCellKey(int cellX, int cellY) {
+        return ((long) cellX << 32) | (cellY & 0xffffffffL);
+    }
+
+    /**
+     * The points added to the grid at the same time, sorted by cell.
+     */
+    private static class Block {
+        /**
+         * The keys of all non-empty cells, in ascending order.
+         */
+        private long[] cellKeys;
+        /**
+         * The offset into {@link #entries} of the first point in each cell. The cell at index i contains the entries
+         * from cellStarts[i] up to (but not including) cellStarts[i + 1].
+         */
+        private int[] cellStarts;
+        private int[] entries;
+        private float[] entryX;
+        private float[] entryY;
+        private int minCellX;
+        private int maxCellX;
+        private int minCellY;
+        private int maxCellY;
+    }
+}
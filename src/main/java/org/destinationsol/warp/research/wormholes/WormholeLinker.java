@@ -0,0 +1,36 @@
+/*
+ * Copyright 2026 The Terasology Foundation
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.destinationsol.warp.research.wormholes;
+
+import java.util.Random;
+
+/**
+ * Represents a strategy for pairing up wormholes, so that each one leads to another.
+ */
+public interface WormholeLinker {
+    /**
+     * Pairs up the specified wormholes. Every wormhole must be linked to exactly one other wormhole, which must in turn
+     * be linked back to it. Any randomness should come from the random number generator provided, so that a galaxy
+     * seed always produces the same links. This may be called from outside of the game thread.
+     *
+     * Linkers that only need the number of wormholes and their solar systems should avoid reading wormhole positions,
+     * since doing so generates the wormholes in that system, which would otherwise have been generated lazily.
+     * @param network the network to link. There will always be an even number of wormholes in it.
+     * @param random the random number generator to use
+     * @return the ID of the wormhole linked to each wormhole
+     */
+    int[] link(WormholeNetwork network, Random random);
+}
@@ -0,0 +1,236 @@
+/*
+ * Copyright 2026 The Terasology Foundation
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.destinationsol.warp.research.wormholes;
+
+import com.badlogic.gdx.utils.IntMap;
+
+import java.util.Arrays;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Future;
+
+/**
+ * Describes a generated wormhole network: where each wormhole is, which wormhole it leads to and how stable it is.
+ *
+ * Each solar system has a fixed number of wormholes, so every wormhole has a stable ID, given by its system and its
+ * position within the system. The links between wormholes are decided up-front, but the positions of each system's
+ * wormholes can be generated lazily, the first time that they are needed. Since each system is generated from its
+ * own seed, the network is the same regardless of which systems are generated, or in what order.
+ *
+ * A wormhole that could not be placed without breaking the placement constraints has NaN co-ordinates. Such a
+ * wormhole never appears in the game, and neither does the wormhole that it is linked to, since it would lead nowhere.
+ *
+ * This class is not thread-safe. It may be handed between threads, but only one thread may use it at a time.
+ */
+public class WormholeNetwork {
+    private final WormholeNetworkGenerator generator;
+    private final int wormholesPerSystem;
+    private final float[][] systemX;
+    private final float[][] systemY;
+    private final float[] stability;
+    private int[] links;
+    private boolean modified;
+    /**
+     * The solar systems being generated in the background, which have not been collected yet.
+     */
+    private final IntMap<Future<float[][]>> pendingSystems = new IntMap<Future<float[][]>>();
+
+    WormholeNetwork(WormholeNetworkGenerator generator, int systemCount, int wormholesPerSystem) {
+        this.generator = generator;
+        this.wormholesPerSystem = wormholesPerSystem;
+        systemX = new float[systemCount][];
+        systemY = new float[systemCount][];
+        stability = new float[systemCount * wormholesPerSystem];
+        Arrays.fill(stability, generator.getInitialStability());
+        modified = true;
+    }
+
+    void setLinks(int[] links) {
+        this.links = links;
+    }
+
+    void setSystem(int system, float[] x, float[] y) {
+        systemX[system] = x;
+        systemY[system] = y;
+    }
+
+    public long getSeed() {
+        return generator.getSeed();
+    }
+
+    /**
+     * Returns the total number of wormholes in the network, including those in systems that are not yet generated.
+     * @return the number of wormholes
+     */
+    public int size() {
+        return systemX.length * wormholesPerSystem;
+    }
+
+    public int getSystemCount() {
+        return systemX.length;
+    }
+
+    public int getWormholesPerSystem() {
+        return wormholesPerSystem;
+    }
+
+    /**
+     * Returns the index of the solar system containing a wormhole
+     * @param wormhole the ID of the wormhole
+     * @return the index of the solar system
+     */
+    public int getSystem(int wormhole) {
+        return wormhole / wormholesPerSystem;
+    }
+
+    /**
+     * Returns the ID of the first wormhole in a solar system. The system's other wormholes follow it consecutively.
+     * @param system the index of the solar system
+     * @return the ID of the first wormhole in the system
+     */
+    public int getFirstWormhole(int system) {
+        return system * wormholesPerSystem;
+    }
+
+    /**
+     * Returns the ID of the wormhole linked to a wormhole. This never causes a system to be generated.
+     * @param wormhole the ID of the wormhole
+     * @return the ID of the linked wormhole
+     */
+    public int getLink(int wormhole) {
+        return links[wormhole];
+    }
+
+    /**
+     * Returns the x co-ordinate of a wormhole, generating the wormholes in its system if needed.
+     * @param wormhole the ID of the wormhole
+     * @return the x co-ordinate of the wormhole
+     */
+    public float getX(int wormhole) {
+        int system = getSystem(wormhole);
+        generateSystem(system);
+        return systemX[system][wormhole - getFirstWormhole(system)];
+    }
+
+    /**
+     * Returns the y co-ordinate of a wormhole, generating the wormholes in its system if needed.
+     * @param wormhole the ID of the wormhole
+     * @return the y co-ordinate of the wormhole
+     */
+    public float getY(int wormhole) {
+        int system = getSystem(wormhole);
+        generateSystem(system);
+        return systemY[system][wormhole - getFirstWormhole(system)];
+    }
+
+    /**
+     * Returns true if a wormhole was placed, generating the wormholes in its system if needed.
+     * @param wormhole the ID of the wormhole
+     * @return if the wormhole was placed
+     */
+    public boolean isPlaced(int wormhole) {
+        return !Float.isNaN(getX(wormhole));
+    }
+
+    public float getStability(int wormhole) {
+        return stability[wormhole];
+    }
+
+    public void setStability(int wormhole, float wormholeStability) {
+        stability[wormhole] = wormholeStability;
+        modified = true;
+    }
+
+    /**
+     * Returns true if the network has changed since it was last saved, either because a wormhole's stability has
+     * changed or because another solar system has been generated.
+     * @return if the network has unsaved changes
+     */
+    public boolean isModified() {
+        return modified;
+    }
+
+    /**
+     * Records that the network has been saved, so that it is no longer considered modified.
+     */
+    public void markSaved() {
+        modified = false;
+    }
+
+    public boolean isSystemGenerated(int system) {
+        return systemX[system] != null;
+    }
+
+    /**
+     * Returns true if a solar system's wormholes can be accessed without waiting for them to be generated, because
+     * they have already been generated or have finished being generated in the background.
+     * @param system the index of the solar system
+     * @return if the system is ready
+     */
+    public boolean isSystemReady(int system) {
+        Future<float[][]> pendingSystem = pendingSystems.get(system);
+        return isSystemGenerated(system) || (pendingSystem != null && pendingSystem.isDone());
+    }
+
+    /**
+     * Generates the positions of the wormholes in a solar system, if they have not been generated already.
+     * @param system the index of the solar system
+     */
+    public void generateSystem(int system) {
+        if (isSystemGenerated(system)) {
+            return;
+        }
+
+        float[] x = null;
+        float[] y = null;
+        Future<float[][]> pendingSystem = pendingSystems.remove(system);
+        if (pendingSystem != null) {
+            try {
+                float[][] positions = pendingSystem.get();
+                x = positions[0];
+                y = positions[1];
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            } catch (ExecutionException e) {
+                // Generate the system here instead, below.
+            }
+        }
+
+        if (x == null) {
+            x = new float[wormholesPerSystem];
+            y = new float[wormholesPerSystem];
+            generator.generateSystem(system, x, y);
+        }
+        systemX[system] = x;
+        systemY[system] = y;
+        modified = true;
+    }
+
+    /**
+     * Starts generating the wormholes in a solar system in the background, so that they are ready by the time that
+     * they are needed. The wormholes are collected the next time that the system's wormholes are accessed, waiting
+     * for them if they are not ready yet. The network itself is never touched by the background thread.
+     * @param system the index of the solar system
+     * @param executor the executor to generate the system with
+     */
+    public void prefetchSystem(int system, ExecutorService executor) {
+        if (isSystemGenerated(system) || pendingSystems.containsKey(system)) {
+            return;
+        }
+
+        pendingSystems.put(system, executor.submit(generator.getSystemGenerationTask(system)));
+    }
+}
@@ -0,0 +1,152 @@
+/*
+ * Copyright 2026 The Terasology Foundation
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.destinationsol.warp.research.wormholes;
+
+import java.nio.BufferUnderflowException;
+import java.nio.ByteBuffer;
+
+/**
+ * Converts wormhole networks to and from a compact binary form, so that they can be saved with the game.
+ *
+ * The format consists of a header (identifying the format version and the galaxy seed that the network belongs to),
+ * followed by the link of each wormhole as an int, the stability of each wormhole as a float and then, for each
+ * solar system, a flag indicating whether it has been generated, followed by the packed x and y co-ordinates of its
+ * wormholes if it has. Solar systems that have not been generated yet are generated lazily after loading, as usual.
+ */
+public final class WormholeNetworkCodec {
+    private static final int MAGIC = 0x57524d48;
+    /**
+     * The version of the format. This must also change whenever the generator places wormholes differently, since
+     * solar systems that were not generated before saving are generated again after loading.
+     */
+    private static final int VERSION = 3;
+
+    private WormholeNetworkCodec() {
+    }
+
+    /**
+     * Encodes a wormhole network.
+     * @param network the network to encode
+     * @return the encoded network
+     */
+    public static byte[] encode(WormholeNetwork network) {
+        int size = network.size();
+        int generatedWormholes = 0;
+        for (int system = 0; system < network.getSystemCount(); system++) {
+            if (network.isSystemGenerated(system)) {
+                generatedWormholes += network.getWormholesPerSystem();
+            }
+        }
+
+        ByteBuffer buffer = ByteBuffer.allocate(4 * Integer.BYTES + Long.BYTES + size * (Integer.BYTES + Float.BYTES)
+                + network.getSystemCount() + generatedWormholes * 2 * Float.BYTES);
+        buffer.putInt(MAGIC);
+        buffer.putInt(VERSION);
+        buffer.putLong(network.getSeed());
+        buffer.putInt(network.getSystemCount());
+        buffer.putInt(network.getWormholesPerSystem());
+        for (int wormhole = 0; wormhole < size; wormhole++) {
+            buffer.putInt(network.getLink(wormhole));
+        }
+        for (int wormhole = 0; wormhole < size; wormhole++) {
+            buffer.putFloat(network.getStability(wormhole));
+        }
+        for (int system = 0; system < network.getSystemCount(); system++) {
+            boolean generated = network.isSystemGenerated(system);
+            buffer.put((byte) (generated ? 1 : 0));
+            if (!generated) {
+                continue;
+            }
+
+            int firstWormhole = network.getFirstWormhole(system);
+            for (int wormhole = firstWormhole; wormhole < firstWormhole + network.getWormholesPerSystem(); wormhole++) {
+                buffer.putFloat(network.getX(wormhole));
+                buffer.putFloat(network.getY(wormhole));
+            }
+        }
+        return buffer.array();
+    }
+
+    /**
+     * Decodes a wormhole network. The network is only decoded if it was saved for the same galaxy as the generator,
+     * with the same number of wormholes. The data is checked before anything is allocated from it, so corrupt or
+     * truncated data is rejected rather than causing huge allocations.
+     * @param buffer the encoded network
+     * @param generator the generator used to generate any systems that had not been generated when saved
+     * @return the decoded network, or null if the data is invalid or belongs to a different galaxy
+     */
+    public static WormholeNetwork decode(ByteBuffer buffer, WormholeNetworkGenerator generator) {
+        try {
+            if (buffer.getInt() != MAGIC || buffer.getInt() != VERSION || buffer.getLong() != generator.getSeed()) {
+                return null;
+            }
+
+            int systemCount = buffer.getInt();
+            int wormholesPerSystem = buffer.getInt();
+            if (systemCount != generator.getSystemCount() || wormholesPerSystem != generator.getWormholesPerSystem()) {
+                return null;
+            }
+
+            // Every wormhole has a link and a stability, and every system has at least its flag.
+            long size = (long) systemCount * wormholesPerSystem;
+            if (size * (Integer.BYTES + Float.BYTES) + systemCount > buffer.remaining()) {
+                return null;
+            }
+
+            WormholeNetwork network = new WormholeNetwork(generator, systemCount, wormholesPerSystem);
+            int[] links = new int[(int) size];
+            for (int wormhole = 0; wormhole < size; wormhole++) {
+                links[wormhole] = buffer.getInt();
+                if (links[wormhole] < 0 || links[wormhole] >= size || links[wormhole] == wormhole) {
+                    return null;
+                }
+            }
+            // Wormholes come in pairs, so each wormhole must be linked back to by the wormhole that it links to.
+            for (int wormhole = 0; wormhole < size; wormhole++) {
+                if (links[links[wormhole]] != wormhole) {
+                    return null;
+                }
+            }
+            network.setLinks(links);
+
+            for (int wormhole = 0; wormhole < size; wormhole++) {
+                network.setStability(wormhole, buffer.getFloat());
+            }
+
+            for (int system = 0; system < systemCount; system++) {
+                byte generated = buffer.get();
+                if (generated == 0) {
+                    continue;
+                } else if (generated != 1) {
+                    return null;
+                }
+
+                float[] x = new float[wormholesPerSystem];
+                float[] y = new float[wormholesPerSystem];
+                for (int i = 0; i < wormholesPerSystem; i++) {
+                    x[i] = buffer.getFloat();
+                    y[i] = buffer.getFloat();
+                }
+                network.setSystem(system, x, y);
+            }
+
+            network.markSaved();
+            return network;
+        } catch (BufferUnderflowException e) {
+            return null;
+        }
+    }
+}
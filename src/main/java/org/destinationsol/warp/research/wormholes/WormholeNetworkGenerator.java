@@ -0,0 +1,233 @@
+/*
+ * Copyright 2026 The Terasology Foundation
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.destinationsol.warp.research.wormholes;
+
+import java.util.concurrent.Callable;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.RecursiveAction;
+
+/**
+ * Generates and links the wormholes for a galaxy.
+ *
+ * Generation only reads from a {@link GalaxySnapshot} and never uses the game's global random number generator, so it
+ * is safe to run away from the game thread. The galaxy seed is split into a separate {@link WormholeRandom} stream for
+ * each solar system, one for linking and one for the number of wormholes. The same snapshot, seed and settings
+ * therefore always produce the same network, however much of it is generated and in whatever order.
+ */
+public class WormholeNetworkGenerator {
+    private static final long LINK_STREAM = -1;
+    private static final long COUNT_STREAM = -2;
+    /**
+     * The number of solar systems below which a parallel generation task generates its systems itself, rather than
+     * splitting them up any further.
+     */
+    private static final int PARALLEL_THRESHOLD = 1;
+    /**
+     * The smallest separation allowed between wormholes, as a fraction of the largest solar system's radius. Wormholes
+     * are placed using a grid with cells of about this size over each system, so this keeps the grid to a few million
+     * cells at most.
+     */
+    private static final float MIN_SEPARATION_RATIO = 1.0f / 512;
+    private final GalaxySnapshot galaxy;
+    private final long seed;
+    private final WormholeRandom random;
+    private final int wormholesPerSystem;
+    private final float minSeparation;
+    private final float sunDistance;
+    private final float initialStability;
+    private final WormholeLinker linker;
+    private PoissonDiscSampler sampler;
+
+    /**
+     * Creates a new generator.
+     * @param galaxy the galaxy to place wormholes in
+     * @param seed the seed to generate the wormholes from
+     * @param minWormholes the minimum number of wormholes to create (inclusive)
+     * @param maxWormholes the maximum number of wormholes to create (exclusive)
+     * @param minSeparation the minimum distance between any two wormholes
+     * @param sunDistance the distance from each sun, on both axes, that must be kept clear of wormholes
+     * @param initialStability the stability of newly-generated wormholes
+     * @param linker the strategy used to pair up the wormholes
+     * @throws IllegalArgumentException if the range of wormhole counts is empty, or the separation is below
+     *                                  {@link #getMinSeparation(GalaxySnapshot)} or not positive
+     */
+    public WormholeNetworkGenerator(GalaxySnapshot galaxy, long seed, int minWormholes, int maxWormholes,
+                                    float minSeparation, float sunDistance, float initialStability,
+                                    WormholeLinker linker) {
+        if (minWormholes < 0 || maxWormholes <= minWormholes) {
+            throw new IllegalArgumentException("Invalid wormhole count range: " + minWormholes + " to " + maxWormholes);
+        }
+        if (!(minSeparation > 0) || minSeparation < getMinSeparation(galaxy)) {
+            throw new IllegalArgumentException("Invalid wormhole separation: " + minSeparation);
+        }
+
+        this.galaxy = galaxy;
+        this.seed = seed;
+        this.random = new WormholeRandom(seed);
+        this.minSeparation = minSeparation;
+        this.sunDistance = sunDistance;
+        this.initialStability = initialStability;
+        this.linker = linker;
+
+        int systemCount = galaxy.getSystemCount();
+        int wormholeCount = minWormholes + random.forStream(COUNT_STREAM).nextInt(maxWormholes - minWormholes);
+        int perSystem = systemCount > 0 ? wormholeCount / systemCount : 0;
+        if ((perSystem * systemCount) % 2 != 0) {
+            // There must always be an even number of wormholes, as they come in pairs.
+            perSystem++;
+        }
+        wormholesPerSystem = perSystem;
+    }
+
+    /**
+     * Links the wormholes, without generating any solar systems unless the linker needs their wormholes' positions.
+     * The remaining systems are generated when their wormholes are first accessed.
+     * @return the linked network
+     */
+    public WormholeNetwork link() {
+        WormholeNetwork network = new WormholeNetwork(this, galaxy.getSystemCount(), wormholesPerSystem);
+        network.setLinks(linker.link(network, random.forStream(LINK_STREAM)));
+        return network;
+    }
+
+    /**
+     * Places and links all of the wormholes in the galaxy.
+     * @return the generated network
+     */
+    public WormholeNetwork generate() {
+        WormholeNetwork network = link();
+        for (int system = 0; system < network.getSystemCount(); system++) {
+            network.generateSystem(system);
+        }
+        return network;
+    }
+
+    /**
+     * Places and links all of the wormholes in the galaxy, placing the wormholes of different solar systems in
+     * parallel. The network generated is identical to the one from {@link #generate()}.
+     * @param pool the pool to run the placement tasks in
+     * @return the generated network
+     */
+    public WormholeNetwork generate(ForkJoinPool pool) {
+        int systemCount = galaxy.getSystemCount();
+        float[][] x = new float[systemCount][wormholesPerSystem];
+        float[][] y = new float[systemCount][wormholesPerSystem];
+        pool.invoke(new SystemGenerationTask(0, systemCount, x, y));
+
+        // Linking comes last, since the linker may need to see the wormholes' positions.
+        WormholeNetwork network = new WormholeNetwork(this, systemCount, wormholesPerSystem);
+        for (int system = 0; system < systemCount; system++) {
+            network.setSystem(system, x[system], y[system]);
+        }
+        network.setLinks(linker.link(network, random.forStream(LINK_STREAM)));
+        return network;
+    }
+
+    /**
+     * Returns the smallest separation between wormholes that can be used in a galaxy. Wormholes any closer together
+     * would need too much memory to place in the largest solar system.
+     * @param galaxy the galaxy to place wormholes in
+     * @return the smallest separation allowed
+     */
+    public static float getMinSeparation(GalaxySnapshot galaxy) {
+        float maxRadius = 0;
+        for (int system = 0; system < galaxy.getSystemCount(); system++) {
+            maxRadius = Math.max(maxRadius, galaxy.getSystemRadius(system));
+        }
+        return maxRadius * MIN_SEPARATION_RATIO;
+    }
+
+    public long getSeed() {
+        return seed;
+    }
+
+    public int getSystemCount() {
+        return galaxy.getSystemCount();
+    }
+
+    public int getWormholesPerSystem() {
+        return wormholesPerSystem;
+    }
+
+    public float getInitialStability() {
+        return initialStability;
+    }
+
+    void generateSystem(int system, float[] x, float[] y) {
+        if (sampler == null) {
+            sampler = new PoissonDiscSampler(minSeparation);
+        }
+        generateSystem(system, x, y, sampler);
+    }
+
+    /**
+     * Returns a task that places the wormholes in a solar system, for running on another thread. The task returns the
+     * x co-ordinates of the wormholes, followed by their y co-ordinates.
+     * @param system the index of the solar system
+     * @return the task to run
+     */
+    Callable<float[][]> getSystemGenerationTask(int system) {
+        return () -> {
+            float[][] positions = new float[2][wormholesPerSystem];
+            generateSystem(system, positions[0], positions[1], new PoissonDiscSampler(minSeparation));
+            return positions;
+        };
+    }
+
+    /**
+     * Places the wormholes in a solar system. This is safe to call from several threads at once, provided that each
+     * thread uses its own sampler. Any wormholes that cannot be placed without breaking the minimum separation or
+     * overlapping a planet are left unplaced, with NaN co-ordinates.
+     */
+    private void generateSystem(int system, float[] x, float[] y, PoissonDiscSampler systemSampler) {
+        systemSampler.sample(galaxy.getSystemPosition(system), sunDistance, galaxy.getSystemRadius(system), x, y,
+                random.forStream(system), position -> galaxy.isPlaceFree(system, position));
+    }
+
+    /**
+     * Places the wormholes for a range of solar systems, splitting the range in half until each task only has a few
+     * systems left to place. Every system is placed independently, using its own random stream and only reading from
+     * the galaxy snapshot, so the tasks do not need to co-ordinate.
+     */
+    private class SystemGenerationTask extends RecursiveAction {
+        private final int firstSystem;
+        private final int endSystem;
+        private final float[][] x;
+        private final float[][] y;
+
+        SystemGenerationTask(int firstSystem, int endSystem, float[][] x, float[][] y) {
+            this.firstSystem = firstSystem;
+            this.endSystem = endSystem;
+            this.x = x;
+            this.y = y;
+        }
+
+        @Override
+        protected void compute() {
+            if (endSystem - firstSystem <= PARALLEL_THRESHOLD) {
+                PoissonDiscSampler taskSampler = new PoissonDiscSampler(minSeparation);
+                for (int system = firstSystem; system < endSystem; system++) {
+                    generateSystem(system, x[system], y[system], taskSampler);
+                }
+                return;
+            }
+
+            int middleSystem = (firstSystem + endSystem) >>> 1;
+            invokeAll(new SystemGenerationTask(firstSystem, middleSystem, x, y),
+                    new SystemGenerationTask(middleSystem, endSystem, x, y));
+        }
+    }
+}
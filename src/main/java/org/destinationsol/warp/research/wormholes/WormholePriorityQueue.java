@@ -0,0 +1,101 @@
+/*
+ * Copyright 2026 The Terasology Foundation
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.destinationsol.warp.research.wormholes;
+
+import java.util.Arrays;
+
+/**
+ * A priority queue of wormhole IDs, ordered by a float priority with the lowest first.
+ * The queue is backed by primitive arrays, so it can be re-used every frame without allocating.
+ */
+public class WormholePriorityQueue {
+    private int size;
+    private int[] ids = new int[16];
+    private float[] priorities = new float[16];
+
+    /**
+     * Adds a wormhole to the queue.
+     * @param id the ID of the wormhole
+     * @param priority the priority of the wormhole. Lower priorities are removed first.
+     */
+    public void add(int id, float priority) {
+        if (size == ids.length) {
+            ids = Arrays.copyOf(ids, size * 2);
+            priorities = Arrays.copyOf(priorities, size * 2);
+        }
+
+        // Sift the new entry up from the bottom of the heap.
+        int index = size++;
+        while (index > 0) {
+            int parent = (index - 1) / 2;
+            if (priorities[parent] <= priority) {
+                break;
+            }
+            ids[index] = ids[parent];
+            priorities[index] = priorities[parent];
+            index = parent;
+        }
+        ids[index] = id;
+        priorities[index] = priority;
+    }
+
+    /**
+     * Removes the wormhole with the lowest priority from the queue.
+     * @return the ID of the wormhole removed
+     * @throws IllegalStateException if the queue is empty
+     */
+    public int poll() {
+        if (size == 0) {
+            throw new IllegalStateException("The queue is empty.");
+        }
+
+        int first = ids[0];
+        size--;
+        int lastId = ids[size];
+        float lastPriority = priorities[size];
+
+        // Sift the last entry down from the top of the heap.
+        int index = 0;
+        while (index * 2 + 1 < size) {
+            int child = index * 2 + 1;
+            if (child + 1 < size && priorities[child + 1] < priorities[child]) {
+                child++;
+            }
+            if (lastPriority <= priorities[child]) {
+                break;
+            }
+            ids[index] = ids[child];
+            priorities[index] = priorities[child];
+            index = child;
+        }
+        ids[index] = lastId;
+        priorities[index] = lastPriority;
+
+        return first;
+    }
+
+    public boolean isEmpty() {
+        return size == 0;
+    }
+
+    public int size() {
+        return size;
+    }
+
+    public void clear() {
+        size = 0;
+    }
+}
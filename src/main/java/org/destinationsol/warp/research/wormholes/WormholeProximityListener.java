@@ -0,0 +1,33 @@
+/*
+ * Copyright 2026 The Terasology Foundation
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.destinationsol.warp.research.wormholes;
+
+/**
+ * Receives notifications when the hero comes near to a wormhole, or moves away from it again.
+ */
+public interface WormholeProximityListener {
+    /**
+     * Called when the hero comes within range of a wormhole.
+     * @param wormholeId the ID of the wormhole
+     */
+    void onWormholeEntered(int wormholeId);
+
+    /**
+     * Called when the hero leaves the range of a wormhole.
+     * @param wormholeId the ID of the wormhole
+     */
+    void onWormholeLeft(int wormholeId);
+}
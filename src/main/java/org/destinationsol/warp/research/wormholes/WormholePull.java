@@ -0,0 +1,57 @@
+/*
+ * Copyright 2026 The Terasology Foundation
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.destinationsol.warp.research.wormholes;
+
+import com.badlogic.gdx.math.Vector2;
+
+/**
+ * The pull that wormholes exert on nearby ships.
+ *
+ * This follows the same model as the engine's force beacons: a ship within range of a wormhole is given a velocity
+ * towards the wormhole's centre, proportional to its distance from it but never faster than one unit per second.
+ * When a ship is in range of several wormholes, the pulls from each of them are added together.
+ */
+public final class WormholePull {
+    private WormholePull() {
+    }
+
+    /**
+     * Adds the pull of a wormhole on a ship to a total.
+     * @param shipX the x co-ordinate of the ship
+     * @param shipY the y co-ordinate of the ship
+     * @param centreX the x co-ordinate of the wormhole's centre
+     * @param centreY the y co-ordinate of the wormhole's centre
+     * @param maxDistance the distance from the centre beyond which ships are not pulled
+     * @param totalPull the total pull on the ship so far, which the wormhole's pull is added to
+     * @return true if the ship is within range of the wormhole, otherwise false
+     */
+    public static boolean addPull(float shipX, float shipY, float centreX, float centreY, float maxDistance,
+                                  Vector2 totalPull) {
+        float deltaX = centreX - shipX;
+        float deltaY = centreY - shipY;
+        float distance = (float) Math.sqrt(deltaX * deltaX + deltaY * deltaY);
+        if (distance >= maxDistance) {
+            return false;
+        }
+
+        if (distance > 1) {
+            deltaX /= distance;
+            deltaY /= distance;
+        }
+        totalPull.add(deltaX, deltaY);
+        return true;
+    }
+}
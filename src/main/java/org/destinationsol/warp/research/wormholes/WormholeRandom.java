@@ -0,0 +1,75 @@
+/*
+ * Copyright 2026 The Terasology Foundation
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.destinationsol.warp.research.wormholes;
+
+import java.util.Random;
+
+/**
+ * A fast random number generator (SplitMix64) that can be split into any number of independent streams.
+ *
+ * Each stream is derived only from the original seed and the stream's number, so the numbers drawn from a stream
+ * never depend on how many other streams exist, how much they have been used, or which thread uses them.
+ * This extends {@link Random} so that it can be passed to existing code, but unlike {@link Random} it is not
+ * thread-safe: each stream should only be used by one thread at a time.
+ */
+public class WormholeRandom extends Random {
+    private static final long GOLDEN_GAMMA = 0x9E3779B97F4A7C15L;
+    private long seed;
+    private long state;
+
+    /**
+     * Creates a new generator.
+     * @param seed the seed to draw numbers from
+     */
+    public WormholeRandom(long seed) {
+        super(seed);
+        this.seed = seed;
+        this.state = seed;
+    }
+
+    /**
+     * Creates an independent stream of random numbers.
+     * @param stream the number of the stream. The same number always gives the same stream.
+     * @return the new stream
+     */
+    public WormholeRandom forStream(long stream) {
+        return new WormholeRandom(mix(seed + (stream + 1) * GOLDEN_GAMMA));
+    }
+
+    @Override
+    public void setSeed(long seed) {
+        // This is called by the Random constructor, before the fields have been initialised.
+        this.seed = seed;
+        this.state = seed;
+    }
+
+    @Override
+    public long nextLong() {
+        state += GOLDEN_GAMMA;
+        return mix(state);
+    }
+
+    @Override
+    protected int next(int bits) {
+        return (int) (nextLong() >>> (64 - bits));
+    }
+
+    private static long mix(long value) {
+        value = (value ^ (value >>> 30)) * 0xBF58476D1CE4E5B9L;
+        value = (value ^ (value >>> 27)) * 0x94D049BB133111EBL;
+        return value ^ (value >>> 31);
+    }
+}
@@ -0,0 +1,65 @@
+/*
+ * Copyright 2026 The Terasology Foundation
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.destinationsol.warp.research.wormholes;
+
+/**
+ * A route between two points, which may pass through any number of wormholes along the way.
+ */
+public class WormholeRoute {
+    private final int[] wormholes;
+    private final float distance;
+
+    /**
+     * Creates a new route.
+     * @param wormholes the IDs of the wormholes to enter, in the order that they should be entered
+     * @param distance the total distance flown along the route, not counting the jumps through the wormholes
+     */
+    public WormholeRoute(int[] wormholes, float distance) {
+        this.wormholes = wormholes;
+        this.distance = distance;
+    }
+
+    /**
+     * Returns the number of wormholes passed through along the route. If this is zero, then the fastest route is to
+     * fly directly to the destination.
+     * @return the number of wormholes
+     */
+    public int getWormholeCount() {
+        return wormholes.length;
+    }
+
+    /**
+     * Returns a wormhole along the route.
+     * @param index the position of the wormhole along the route, starting from zero
+     * @return the ID of the wormhole to enter
+     */
+    public int getWormhole(int index) {
+        return wormholes[index];
+    }
+
+    public float getDistance() {
+        return distance;
+    }
+
+    /**
+     * Returns the same route through the same wormholes, with a different distance.
+     * @param newDistance the distance of the new route
+     * @return the new route
+     */
+    WormholeRoute withDistance(float newDistance) {
+        return new WormholeRoute(wormholes, newDistance);
+    }
+}
@@ -0,0 +1,582 @@
+/*
+ * Copyright 2026 The Terasology Foundation
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.destinationsol.warp.research.wormholes;
+
+import com.badlogic.gdx.math.Vector2;
+import com.badlogic.gdx.utils.IntArray;
+
+import java.util.Arrays;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Future;
+
+/**
+ * Finds the shortest routes between points, flying normally and passing through any of the spawned wormholes.
+ *
+ * Entering a wormhole costs nothing, so the travel graph has a node for each wormhole, with free edges between
+ * linked wormholes. To keep the graph sparse, each wormhole only has flight edges to its nearest neighbours within a
+ * limited distance, which are found using a {@link WormholeGrid}. The start of a route has flight edges to the
+ * wormholes near it and every wormhole has a flight edge to the end of the route, so flying straight to the
+ * destination from any wormhole is always considered. Routes are found with A*, using the ALT heuristic: the
+ * distances from a few landmark wormholes to every other wormhole are worked out in advance, and the triangle
+ * inequality then gives a lower bound on the remaining distance from any wormhole, even with wormholes making some
+ * journeys shorter than a straight line. Each search visits a limited number of nodes, after which the shortest route
+ * found so far is used. Flying directly is always found first, so there is always a route to fall back to.
+ *
+ * The graph and the landmark distances are rebuilt in the background whenever more wormholes are spawned. Until the
+ * new graph is ready, routes are found using the previous one, which is still valid but may be missing the newest
+ * wormholes.
+ *
+ * Routes are cached by the grid cells of their start and end points, so any routes between the same two cells pass
+ * through the same wormholes. The distance of a cached route is measured again for the exact start and end points,
+ * and flying directly is returned instead if that is shorter. The least recently used routes are dropped once the
+ * cache is full. This is not thread-safe, so it should only be used from the game thread.
+ */
+public class WormholeRoutePlanner {
+    private static final float INFINITY = Float.POSITIVE_INFINITY;
+    private static final int[] NO_WORMHOLES = new int[0];
+    private final WormholeStore store;
+    private final int landmarkCount;
+    private final float neighbourDistance;
+    private final int neighbourCount;
+    private final int searchLimit;
+    private final float cacheCellSize;
+    private final ExecutorService executor;
+    private final Map<RouteKey, WormholeRoute> routeCache;
+    private final WormholePriorityQueue openNodes = new WormholePriorityQueue();
+    private final IntArray nearbyNodes = new IntArray();
+    private final Vector2 startPosition = new Vector2();
+    private final float[] endLandmarkDistances;
+    private RouteGraph graph = new RouteGraph(new int[0], new float[0], new float[0], new int[0], 1, 0, 0);
+    private Future<RouteGraph> pendingGraph;
+    private int requestedVersion = -1;
+    /**
+     * The number of the current search. Each node records the search that it was last reached and closed in, so
+     * that the arrays do not need to be cleared between searches.
+     */
+    private int search;
+    private int[] reachedSearch = new int[2];
+    private int[] closedSearch = new int[2];
+    private float[] distances = new float[2];
+    private int[] parents = new int[2];
+    private boolean[] jumped = new boolean[2];
+
+    /**
+     * Creates a new route planner.
+     * @param store the wormholes to route through
+     * @param landmarkCount the number of landmarks to use for the A* heuristic. More landmarks give a more accurate
+     *                      heuristic, at the cost of more work for each node visited.
+     * @param neighbourDistance the maximum distance of a flight edge between two wormholes, or from the start of a
+     *                          route to a wormhole
+     * @param neighbourCount the maximum number of flight edges from each wormhole to other wormholes
+     * @param searchLimit the maximum number of nodes to visit whilst searching for each route
+     * @param cacheCellSize the width and height of the cells that routes are cached by
+     * @param cacheCapacity the maximum number of routes to cache
+     * @param executor the executor to build the travel graph on, or null to build it on the calling thread
+     */
+    public WormholeRoutePlanner(WormholeStore store, int landmarkCount, float neighbourDistance, int neighbourCount,
+                                int searchLimit, float cacheCellSize, int cacheCapacity, ExecutorService executor) {
+        this.store = store;
+        this.landmarkCount = landmarkCount;
+        this.neighbourDistance = neighbourDistance;
+        this.neighbourCount = neighbourCount;
+        this.searchLimit = searchLimit;
+        this.cacheCellSize = cacheCellSize;
+        this.executor = executor;
+        endLandmarkDistances = new float[landmarkCount];
+        routeCache = new LinkedHashMap<RouteKey, WormholeRoute>(16, 0.75f, true) {
+            @Override
+            protected boolean removeEldestEntry(Map.Entry<RouteKey, WormholeRoute> eldest) {
+                return size() > cacheCapacity;
+            }
+        };
+    }
+
+    /**
+     * Finds the shortest route between two points, re-using a cached route if there is one for the same cells.
+     * @param start the point to start from
+     * @param end the point to travel to
+     * @return the shortest route
+     */
+    public WormholeRoute getRoute(Vector2 start, Vector2 end) {
+        updateGraph();
+
+        RouteKey key = new RouteKey(getCell(start.x), getCell(start.y), getCell(end.x), getCell(end.y));
+        WormholeRoute route = routeCache.get(key);
+        if (route == null) {
+            route = findRoute(start.x, start.y, end.x, end.y);
+            routeCache.put(key, route);
+            return route;
+        }
+
+        // The cached route may have been found for different points in the same cells, so measure it again.
+        float directDistance = start.dst(end);
+        float distance = measureRoute(route, start.x, start.y, end.x, end.y);
+        if (!(distance < directDistance)) {
+            return new WormholeRoute(NO_WORMHOLES, directDistance);
+        }
+        return route.withDistance(distance);
+    }
+
+    /**
+     * Finds the shortest route between two points, without using the cache.
+     * @param start the point to start from
+     * @param end the point to travel to
+     * @return the shortest route
+     */
+    public WormholeRoute findRoute(Vector2 start, Vector2 end) {
+        updateGraph();
+        return findRoute(start.x, start.y, end.x, end.y);
+    }
+
+    /**
+     * Returns true if the travel graph is up-to-date with all of the wormholes spawned.
+     * @return true if the graph is up-to-date, or false if it is still being rebuilt
+     */
+    public boolean isUpToDate() {
+        updateGraph();
+        return pendingGraph == null && requestedVersion == store.getVersion();
+    }
+
+    private WormholeRoute findRoute(float startX, float startY, float endX, float endY) {
+        int nodeCount = graph.nodeCount;
+        int startNode = nodeCount;
+        int endNode = nodeCount + 1;
+        float directDistance = Vector2.dst(startX, startY, endX, endY);
+        if (nodeCount == 0) {
+            return new WormholeRoute(NO_WORMHOLES, directDistance);
+        }
+        graph.getLandmarkDistances(endX, endY, endLandmarkDistances);
+
+        startSearch();
+        openNodes.clear();
+        reachedSearch[startNode] = search;
+        distances[startNode] = 0;
+        parents[startNode] = -1;
+        openNodes.add(startNode, 0);
+
+        int visitedNodes = 0;
+        while (!openNodes.isEmpty() && visitedNodes++ < searchLimit) {
+            int node = openNodes.poll();
+            // Nodes can be queued more than once, so skip any that have already been visited.
+            if (closedSearch[node] == search) {
+                continue;
+            }
+            closedSearch[node] = search;
+            if (node == endNode) {
+                break;
+            }
+
+            float distance = distances[node];
+            if (node == startNode) {
+                relax(node, endNode, directDistance, false);
+                nearbyNodes.clear();
+                graph.grid.query(startPosition.set(startX, startY), neighbourDistance, nearbyNodes);
+                for (int i = 0; i < nearbyNodes.size; i++) {
+                    int other = nearbyNodes.get(i);
+                    relax(node, other, Vector2.dst(startX, startY, graph.nodeX[other], graph.nodeY[other]), false);
+                }
+                continue;
+            }
+
+            relax(node, endNode, distance + Vector2.dst(graph.nodeX[node], graph.nodeY[node], endX, endY), false);
+            if (graph.nodeLinks[node] != -1) {
+                relax(node, graph.nodeLinks[node], distance, true);
+            }
+            for (int edge = graph.edgeStarts[node]; edge < graph.edgeStarts[node + 1]; edge++) {
+                relax(node, graph.edges[edge], distance + graph.edgeLengths[edge], false);
+            }
+        }
+
+        IntArray wormholes = new IntArray();
+        for (int node = endNode; parents[node] != -1; node = parents[node]) {
+            if (jumped[node]) {
+                wormholes.add(graph.nodeIds[parents[node]]);
+            }
+        }
+        wormholes.reverse();
+
+        // The route may fly past other wormholes between the ones that it enters, so measure it as flown directly.
+        WormholeRoute route = new WormholeRoute(wormholes.toArray(), 0);
+        return route.withDistance(measureRoute(route, startX, startY, endX, endY));
+    }
+
+    private void relax(int from, int to, float distance, boolean isJump) {
+        if (reachedSearch[to] != search || distance < distances[to]) {
+            reachedSearch[to] = search;
+            distances[to] = distance;
+            parents[to] = from;
+            jumped[to] = isJump;
+            openNodes.add(to, distance + getHeuristic(to));
+        }
+    }
+
+    /**
+     * Returns a lower bound on the distance from a node to the end of the route.
+     */
+    private float getHeuristic(int node) {
+        if (node >= graph.nodeCount) {
+            return 0;
+        }
+
+        // Flying directly may be longer than going through wormholes, so only the landmarks give a valid bound.
+        float bound = 0;
+        int first = node * graph.landmarkCount;
+        for (int landmark = 0; landmark < graph.landmarkCount; landmark++) {
+            bound = Math.max(bound, endLandmarkDistances[landmark] - graph.landmarkDistances[first + landmark]);
+        }
+        return bound;
+    }
+
+    /**
+     * Returns the distance flown along a route, flying straight between each wormhole exit and the next entrance.
+     * If any of the wormholes are no longer spawned, then the distance is NaN.
+     */
+    private float measureRoute(WormholeRoute route, float startX, float startY, float endX, float endY) {
+        float x = startX;
+        float y = startY;
+        float distance = 0;
+        for (int i = 0; i < route.getWormholeCount(); i++) {
+            int wormhole = route.getWormhole(i);
+            int link = store.getLink(wormhole);
+            distance += Vector2.dst(x, y, store.getX(wormhole), store.getY(wormhole));
+            x = store.getX(link);
+            y = store.getY(link);
+        }
+        return distance + Vector2.dst(x, y, endX, endY);
+    }
+
+    private void startSearch() {
+        search++;
+        if (search == Integer.MAX_VALUE) {
+            Arrays.fill(reachedSearch, 0);
+            Arrays.fill(closedSearch, 0);
+            search = 1;
+        }
+    }
+
+    /**
+     * Switches to a newly-built travel graph once it is ready, and starts building a new one if more wormholes have
+     * been spawned since the last one was started.
+     */
+    private void updateGraph() {
+        if (pendingGraph != null && pendingGraph.isDone()) {
+            try {
+                setGraph(pendingGraph.get());
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            } catch (ExecutionException e) {
+                // Keep the previous graph, and try building it again below.
+                requestedVersion = -1;
+            }
+            pendingGraph = null;
+        }
+
+        if (pendingGraph != null || requestedVersion == store.getVersion()) {
+            return;
+        }
+        requestedVersion = store.getVersion();
+
+        // Only copy the spawned wormholes here. Everything else is worked out from the copy, off this thread.
+        IntArray ids = new IntArray();
+        for (int id = store.nextSpawned(0); id >= 0; id = store.nextSpawned(id + 1)) {
+            ids.add(id);
+        }
+        int[] nodeIds = ids.toArray();
+        float[] nodeX = new float[nodeIds.length];
+        float[] nodeY = new float[nodeIds.length];
+        int[] linkIds = new int[nodeIds.length];
+        for (int node = 0; node < nodeIds.length; node++) {
+            nodeX[node] = store.getX(nodeIds[node]);
+            nodeY[node] = store.getY(nodeIds[node]);
+            linkIds[node] = store.getLink(nodeIds[node]);
+        }
+
+        Callable<RouteGraph> buildTask = () -> new RouteGraph(nodeIds, nodeX, nodeY, linkIds, neighbourDistance,
+                neighbourCount, landmarkCount);
+        if (executor == null) {
+            try {
+                setGraph(buildTask.call());
+            } catch (Exception e) {
+                throw new IllegalStateException("Unable to build the wormhole travel graph.", e);
+            }
+        } else {
+            pendingGraph = executor.submit(buildTask);
+        }
+    }
+
+    private void setGraph(RouteGraph newGraph) {
+        graph = newGraph;
+        routeCache.clear();
+        int size = graph.nodeCount + 2;
+        if (distances.length < size) {
+            reachedSearch = new int[size];
+            closedSearch = new int[size];
+            distances = new float[size];
+            parents = new int[size];
+            jumped = new boolean[size];
+            search = 0;
+        }
+    }
+
+    private int getCell(float coordinate) {
+        return (int) Math.floor(coordinate / cacheCellSize);
+    }
+
+    /**
+     * The travel graph between the wormholes that were spawned when it was built. It is not modified after it has
+     * been built, so it can be built on one thread and then used from another.
+     */
+    private static final class RouteGraph {
+        /**
+         * The number of wormhole nodes. The start and end points of a route are the two nodes after them.
+         */
+        private final int nodeCount;
+        private final int[] nodeIds;
+        private final float[] nodeX;
+        private final float[] nodeY;
+        /**
+         * The node that each node's wormhole leads to, or -1 if that wormhole was not spawned.
+         */
+        private final int[] nodeLinks;
+        /**
+         * The offset into {@link #edges} of the first flight edge from each node. The edges from node i are the
+         * entries from edgeStarts[i] up to (but not including) edgeStarts[i + 1].
+         */
+        private final int[] edgeStarts;
+        private final int[] edges;
+        private final float[] edgeLengths;
+        /**
+         * The grid over the wormhole nodes, which gives node indices rather than wormhole IDs.
+         */
+        private final WormholeGrid grid;
+        private final int landmarkCount;
+        /**
+         * The shortest distance from each landmark to each wormhole node. The distances to each node are stored
+         * together, so the distance from landmark j to node i is at index i * landmarkCount + j.
+         */
+        private final float[] landmarkDistances;
+
+        private RouteGraph(int[] nodeIds, float[] nodeX, float[] nodeY, int[] linkIds, float neighbourDistance,
+                           int neighbourCount, int landmarkCount) {
+            nodeCount = nodeIds.length;
+            this.nodeIds = nodeIds;
+            this.nodeX = nodeX;
+            this.nodeY = nodeY;
+
+            // The wormhole IDs are in ascending order, so the node for each linked wormhole can be searched for.
+            nodeLinks = new int[nodeCount];
+            int[] nodes = new int[nodeCount];
+            for (int node = 0; node < nodeCount; node++) {
+                nodeLinks[node] = Math.max(Arrays.binarySearch(nodeIds, linkIds[node]), -1);
+                nodes[node] = node;
+            }
+            grid = new WormholeGrid(neighbourDistance, nodes, nodeX, nodeY);
+
+            int[] neighbours = findNeighbours(neighbourDistance, neighbourCount);
+            edgeStarts = new int[nodeCount + 1];
+            forEachEdge(neighbours, neighbourCount, null);
+            for (int node = 0; node < nodeCount; node++) {
+                edgeStarts[node + 1] += edgeStarts[node];
+            }
+            edges = new int[edgeStarts[nodeCount]];
+            edgeLengths = new float[edges.length];
+            forEachEdge(neighbours, neighbourCount, new int[nodeCount]);
+
+            this.landmarkCount = Math.min(landmarkCount, nodeCount);
+            landmarkDistances = new float[nodeCount * this.landmarkCount];
+            buildLandmarks();
+        }
+
+        /**
+         * Finds the closest few nodes to each node, within the neighbour distance.
+         * @return the neighbours of each node, with neighbourCount entries for each node. Unused entries are -1.
+         */
+        private int[] findNeighbours(float neighbourDistance, int neighbourCount) {
+            int[] neighbours = new int[nodeCount * neighbourCount];
+            float[] neighbourDistances = new float[neighbourCount];
+            Arrays.fill(neighbours, -1);
+            IntArray nearbyNodes = new IntArray();
+            Vector2 position = new Vector2();
+            for (int node = 0; node < nodeCount; node++) {
+                nearbyNodes.clear();
+                grid.query(position.set(nodeX[node], nodeY[node]), neighbourDistance, nearbyNodes);
+                int first = node * neighbourCount;
+                int found = 0;
+                for (int i = 0; i < nearbyNodes.size; i++) {
+                    int other = nearbyNodes.get(i);
+                    float distance = Vector2.dst(nodeX[node], nodeY[node], nodeX[other], nodeY[other]);
+                    if (other == node || (found == neighbourCount && distance >= neighbourDistances[found - 1])) {
+                        continue;
+                    }
+
+                    // Insert the node into the sorted list of neighbours, dropping the furthest if it is full.
+                    int index = Math.min(found, neighbourCount - 1);
+                    while (index > 0 && neighbourDistances[index - 1] > distance) {
+                        neighbourDistances[index] = neighbourDistances[index - 1];
+                        neighbours[first + index] = neighbours[first + index - 1];
+                        index--;
+                    }
+                    neighbourDistances[index] = distance;
+                    neighbours[first + index] = other;
+                    found = Math.min(found + 1, neighbourCount);
+                }
+            }
+            return neighbours;
+        }
+
+        /**
+         * Visits the flight edges in both directions between each node and its neighbours, without repeating edges
+         * between nodes that are both neighbours of each other.
+         * @param edgeCounts null to count the edges from each node into {@link #edgeStarts}, or the number of edges
+         *                   added so far for each node, to add the edges themselves
+         */
+        private void forEachEdge(int[] neighbours, int neighbourCount, int[] edgeCounts) {
+            for (int node = 0; node < nodeCount; node++) {
+                for (int i = node * neighbourCount; i < (node + 1) * neighbourCount && neighbours[i] != -1; i++) {
+                    int other = neighbours[i];
+                    addEdge(node, other, edgeCounts);
+                    if (!isNeighbour(neighbours, neighbourCount, other, node)) {
+                        addEdge(other, node, edgeCounts);
+                    }
+                }
+            }
+        }
+
+        private void addEdge(int from, int to, int[] edgeCounts) {
+            if (edgeCounts == null) {
+                edgeStarts[from + 1]++;
+                return;
+            }
+            int edge = edgeStarts[from] + edgeCounts[from]++;
+            edges[edge] = to;
+            edgeLengths[edge] = Vector2.dst(nodeX[from], nodeY[from], nodeX[to], nodeY[to]);
+        }
+
+        private static boolean isNeighbour(int[] neighbours, int neighbourCount, int node, int other) {
+            for (int i = node * neighbourCount; i < (node + 1) * neighbourCount && neighbours[i] != -1; i++) {
+                if (neighbours[i] == other) {
+                    return true;
+                }
+            }
+            return false;
+        }
+
+        /**
+         * Chooses the landmarks and works out the distances from them. Each landmark is chosen to be the wormhole
+         * furthest from all of the landmarks before it, which spreads them out around the edges of the network.
+         */
+        private void buildLandmarks() {
+            float[] distanceToLandmarks = new float[nodeCount];
+            Arrays.fill(distanceToLandmarks, INFINITY);
+            WormholePriorityQueue queue = new WormholePriorityQueue();
+            int landmark = 0;
+            for (int landmarkNo = 0; landmarkNo < landmarkCount; landmarkNo++) {
+                float[] fromLandmark = getDistancesFrom(landmark, queue);
+                int furthestNode = 0;
+                for (int node = 0; node < nodeCount; node++) {
+                    landmarkDistances[node * landmarkCount + landmarkNo] = fromLandmark[node];
+                    distanceToLandmarks[node] = Math.min(distanceToLandmarks[node], fromLandmark[node]);
+                    if (distanceToLandmarks[node] > distanceToLandmarks[furthestNode]) {
+                        furthestNode = node;
+                    }
+                }
+                landmark = furthestNode;
+            }
+        }
+
+        /**
+         * Works out the shortest distance from one wormhole to every other, using Dijkstra's algorithm.
+         */
+        private float[] getDistancesFrom(int source, WormholePriorityQueue queue) {
+            float[] result = new float[nodeCount];
+            boolean[] visited = new boolean[nodeCount];
+            Arrays.fill(result, INFINITY);
+            result[source] = 0;
+            queue.clear();
+            queue.add(source, 0);
+            while (!queue.isEmpty()) {
+                int node = queue.poll();
+                if (visited[node]) {
+                    continue;
+                }
+                visited[node] = true;
+
+                int link = nodeLinks[node];
+                if (link != -1 && result[node] < result[link]) {
+                    result[link] = result[node];
+                    queue.add(link, result[link]);
+                }
+                for (int edge = edgeStarts[node]; edge < edgeStarts[node + 1]; edge++) {
+                    int other = edges[edge];
+                    float distance = result[node] + edgeLengths[edge];
+                    if (distance < result[other]) {
+                        result[other] = distance;
+                        queue.add(other, distance);
+                    }
+                }
+            }
+            return result;
+        }
+
+        /**
+         * Works out the shortest distance from each landmark to a point. The point can only be reached by flying to
+         * it, after reaching one of the wormholes (or starting from the landmark).
+         */
+        private void getLandmarkDistances(float x, float y, float[] results) {
+            Arrays.fill(results, INFINITY);
+            for (int node = 0; node < nodeCount; node++) {
+                float distance = Vector2.dst(nodeX[node], nodeY[node], x, y);
+                int first = node * landmarkCount;
+                for (int landmark = 0; landmark < landmarkCount; landmark++) {
+                    results[landmark] = Math.min(results[landmark], landmarkDistances[first + landmark] + distance);
+                }
+            }
+        }
+    }
+
+    private static final class RouteKey {
+        private final int startCellX;
+        private final int startCellY;
+        private final int endCellX;
+        private final int endCellY;
+
+        private RouteKey(int startCellX, int startCellY, int endCellX, int endCellY) {
+            this.startCellX = startCellX;
+            this.startCellY = startCellY;
+            this.endCellX = endCellX;
+            this.endCellY = endCellY;
+        }
+
+        @Override
+        public boolean equals(Object other) {
+            if (!(other instanceof RouteKey)) {
+                return false;
+            }
+            RouteKey key = (RouteKey) other;
+            return startCellX == key.startCellX && startCellY == key.startCellY
+                    && endCellX == key.endCellX && endCellY == key.endCellY;
+        }
+
+        @Override
+        public int hashCode() {
+            return ((startCellX * 31 + startCellY) * 31 + endCellX) * 31 + endCellY;
+        }
+    }
+}
@@ -0,0 +1,189 @@
+/*
+ * Copyright 2026 The Terasology Foundation
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.destinationsol.warp.research.wormholes;
+
+import java.util.BitSet;
+
+/**
+ * Holds the run-time state of every wormhole, indexed by wormhole ID.
+ *
+ * The positions, links and stability of the wormholes in the network are read straight from the network, so they are
+ * only stored once. The store itself only records which wormholes have been spawned into the game and which are
+ * currently enabled, as one bit each. Wormholes from solar systems that have not been spawned yet have NaN
+ * co-ordinates. So do wormholes that could not be placed, or that are linked to a wormhole that could not be placed.
+ * Any IDs beyond the end of the network are available for wormholes that are not part of it (such as the debugging
+ * wormholes), which are stored separately.
+ */
+public class WormholeStore {
+    private final WormholeNetwork network;
+    private final int networkSize;
+    private final float[] extraX;
+    private final float[] extraY;
+    private final int[] extraLink;
+    private final float[] extraStability;
+    private final BitSet spawned;
+    private final BitSet enabled;
+    private final BitSet spawnedSystems = new BitSet();
+    private int version;
+
+    /**
+     * Creates a new store for a network. No wormholes are spawned initially.
+     * @param network the network that the wormholes belong to
+     * @param extraCapacity the number of additional wormholes that do not belong to the network
+     */
+    public WormholeStore(WormholeNetwork network, int extraCapacity) {
+        this.network = network;
+        networkSize = network.size();
+        extraX = new float[extraCapacity];
+        extraY = new float[extraCapacity];
+        extraLink = new int[extraCapacity];
+        extraStability = new float[extraCapacity];
+        spawned = new BitSet(networkSize + extraCapacity);
+        enabled = new BitSet(networkSize + extraCapacity);
+    }
+
+    public int size() {
+        return networkSize + extraX.length;
+    }
+
+    /**
+     * Spawns all of the wormholes in a solar system, generating the system first if needed.
+     * @param system the index of the solar system
+     */
+    public void spawnSystem(int system) {
+        int firstWormhole = network.getFirstWormhole(system);
+        for (int id = firstWormhole; id < firstWormhole + network.getWormholesPerSystem(); id++) {
+            int linkedId = network.getLink(id);
+            if (!network.isPlaced(id)) {
+                // The wormhole linked to this one would lead nowhere, so it cannot be used either.
+                despawn(linkedId);
+                continue;
+            }
+
+            // Only check the linked wormhole if its system has been generated, to avoid generating it here.
+            if (network.isSystemGenerated(network.getSystem(linkedId)) && !network.isPlaced(linkedId)) {
+                continue;
+            }
+            spawned.set(id);
+        }
+        spawnedSystems.set(system);
+        version++;
+    }
+
+    public boolean isSystemSpawned(int system) {
+        return spawnedSystems.get(system);
+    }
+
+    /**
+     * Spawns a single wormhole that is not part of the network.
+     * @param id the ID of the wormhole, which must be beyond the end of the network
+     * @param wormholeX the x co-ordinate of the wormhole
+     * @param wormholeY the y co-ordinate of the wormhole
+     * @param linkedId the ID of the wormhole that this one leads to
+     * @param wormholeStability the stability of the wormhole
+     */
+    public void spawn(int id, float wormholeX, float wormholeY, int linkedId, float wormholeStability) {
+        int extraId = id - networkSize;
+        extraX[extraId] = wormholeX;
+        extraY[extraId] = wormholeY;
+        extraLink[extraId] = linkedId;
+        extraStability[extraId] = wormholeStability;
+        spawned.set(id);
+        version++;
+    }
+
+    private void despawn(int id) {
+        if (isSpawned(id)) {
+            spawned.clear(id);
+            version++;
+        }
+    }
+
+    /**
+     * Returns a number that changes whenever more wormholes are spawned, so that anything derived from the spawned
+     * wormholes can tell when it is out-of-date.
+     * @return the current version of the store
+     */
+    public int getVersion() {
+        return version;
+    }
+
+    public boolean isSpawned(int id) {
+        return spawned.get(id);
+    }
+
+    /**
+     * Returns the first spawned wormhole with an ID greater than or equal to the ID specified, for iterating over the
+     * spawned wormholes.
+     * @param fromId the ID to start searching from
+     * @return the ID of the spawned wormhole, or -1 if there are no more
+     */
+    public int nextSpawned(int fromId) {
+        return spawned.nextSetBit(fromId);
+    }
+
+    public float getX(int id) {
+        if (!spawned.get(id)) {
+            return Float.NaN;
+        }
+        return id < networkSize ? network.getX(id) : extraX[id - networkSize];
+    }
+
+    public float getY(int id) {
+        if (!spawned.get(id)) {
+            return Float.NaN;
+        }
+        return id < networkSize ? network.getY(id) : extraY[id - networkSize];
+    }
+
+    public int getLink(int id) {
+        return id < networkSize ? network.getLink(id) : extraLink[id - networkSize];
+    }
+
+    public float getStability(int id) {
+        return id < networkSize ? network.getStability(id) : extraStability[id - networkSize];
+    }
+
+    public void setStability(int id, float wormholeStability) {
+        if (id < networkSize) {
+            network.setStability(id, wormholeStability);
+        } else {
+            extraStability[id - networkSize] = wormholeStability;
+        }
+    }
+
+    public boolean isEnabled(int id) {
+        return enabled.get(id);
+    }
+
+    public void setEnabled(int id, boolean isEnabled) {
+        enabled.set(id, isEnabled);
+    }
+
+    /**
+     * Returns the first enabled wormhole with an ID greater than or equal to the ID specified, for iterating over the
+     * enabled wormholes.
+     * @param fromId the ID to start searching from
+     * @return the ID of the enabled wormhole, or -1 if there are no more
+     */
+    public int nextEnabled(int fromId) {
+        return enabled.nextSetBit(fromId);
+    }
+
+    public WormholeNetwork getNetwork() {
+        return network;
+    }
+}
@@ -0,0 +1,165 @@
+/*
+ * Copyright 2026 The Terasology Foundation
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.destinationsol.warp.research.wormholes;
+
+import com.badlogic.gdx.math.Vector2;
+import com.badlogic.gdx.utils.IntArray;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Paths;
+import java.util.Locale;
+import java.util.concurrent.ForkJoinPool;
+
+/**
+ * Measures how the wormhole code scales to very large numbers of wormholes, outside of the game.
+ *
+ * For each network size, this measures the time taken to generate the network (sequentially, in parallel and
+ * lazily), the heap used by the network once every wormhole is spawned, and the average time taken to work out
+ * which wormholes to activate each tick whilst the hero flies across a solar system. The results are written as
+ * JSON, either to the file given as the first argument or to the standard output, so that they can be compared
+ * between versions.
+ */
+public final class WormholeBenchmark {
+    private static final int[] WORMHOLE_COUNTS = new int[] {1000, 10000, 100000};
+    private static final int SYSTEM_COUNT = 20;
+    private static final float SYSTEM_SPACING = 1000;
+    private static final float SYSTEM_RADIUS = 300;
+    private static final float SUN_DISTANCE = 5;
+    private static final float MIN_SEPARATION = 2;
+    private static final float ENTER_DISTANCE = 5;
+    private static final float EXIT_DISTANCE = 6;
+    private static final int MAX_CHANGES_PER_FRAME = 8;
+    private static final int TIMED_RUNS = 3;
+    private static final int ACTIVATION_TICKS = 10000;
+    private static final long SEED = 1;
+
+    private WormholeBenchmark() {
+    }
+
+    public static void main(String[] args) throws IOException {
+        StringBuilder results = new StringBuilder("{\n  \"benchmarks\": [");
+        for (int countNo = 0; countNo < WORMHOLE_COUNTS.length; countNo++) {
+            results.append(countNo == 0 ? "\n" : ",\n").append(runBenchmark(WORMHOLE_COUNTS[countNo]));
+        }
+        results.append("\n  ]\n}\n");
+
+        if (args.length > 0) {
+            Files.write(Paths.get(args[0]), results.toString().getBytes(StandardCharsets.UTF_8));
+        } else {
+            System.out.print(results);
+        }
+    }
+
+    private static String runBenchmark(int wormholeCount) {
+        WormholeNetworkGenerator generator = createGenerator(wormholeCount);
+
+        // Each measurement is the fastest of several runs, after a first run to warm up.
+        double generationMs = Double.MAX_VALUE;
+        double parallelGenerationMs = Double.MAX_VALUE;
+        double linkMs = Double.MAX_VALUE;
+        for (int run = 0; run <= TIMED_RUNS; run++) {
+            long startTime = System.nanoTime();
+            createGenerator(wormholeCount).generate();
+            long generatedTime = System.nanoTime();
+            createGenerator(wormholeCount).generate(ForkJoinPool.commonPool());
+            long parallelGeneratedTime = System.nanoTime();
+            createGenerator(wormholeCount).link();
+            long linkedTime = System.nanoTime();
+            if (run > 0) {
+                generationMs = Math.min(generationMs, (generatedTime - startTime) / 1e6);
+                parallelGenerationMs = Math.min(parallelGenerationMs, (parallelGeneratedTime - generatedTime) / 1e6);
+                linkMs = Math.min(linkMs, (linkedTime - parallelGeneratedTime) / 1e6);
+            }
+        }
+
+        long heapBefore = getUsedHeap();
+        WormholeNetwork network = generator.generate();
+        WormholeStore store = new WormholeStore(network, 0);
+        for (int system = 0; system < network.getSystemCount(); system++) {
+            store.spawnSystem(system);
+        }
+        WormholeGrid grid = new WormholeGrid(ENTER_DISTANCE, store);
+        long heapBytes = getUsedHeap() - heapBefore;
+
+        double activationNs = measureActivation(store, grid);
+        return String.format(Locale.ROOT, "    {\"wormholes\": %d, \"systems\": %d, \"generationMs\": %.3f, "
+                        + "\"parallelGenerationMs\": %.3f, \"linkMs\": %.3f, \"heapBytes\": %d, "
+                        + "\"activationNsPerTick\": %.1f}",
+                network.size(), network.getSystemCount(), generationMs, parallelGenerationMs, linkMs, heapBytes,
+                activationNs);
+    }
+
+    private static WormholeNetworkGenerator createGenerator(int wormholeCount) {
+        float[] x = new float[SYSTEM_COUNT];
+        float[] y = new float[SYSTEM_COUNT];
+        float[] radius = new float[SYSTEM_COUNT];
+        for (int system = 0; system < SYSTEM_COUNT; system++) {
+            x[system] = system * SYSTEM_SPACING;
+            radius[system] = SYSTEM_RADIUS;
+        }
+        return new WormholeNetworkGenerator(GalaxySnapshot.createWithoutPlanets(x, y, radius), SEED,
+                wormholeCount, wormholeCount + 1, MIN_SEPARATION, SUN_DISTANCE, 1, new ShuffleWormholeLinker());
+    }
+
+    /**
+     * Flies the hero back and forth across the first solar system, activating wormholes as the game would.
+     * @return the average time taken per tick, in nanoseconds
+     */
+    private static double measureActivation(WormholeStore store, WormholeGrid grid) {
+        WormholeActivator activator = new WormholeActivator(store, ENTER_DISTANCE, EXIT_DISTANCE,
+                MAX_CHANGES_PER_FRAME);
+        IntArray enable = new IntArray();
+        IntArray disable = new IntArray();
+        Vector2 heroPosition = new Vector2();
+        float step = (SYSTEM_RADIUS * 4) / ACTIVATION_TICKS;
+
+        long startTime = 0;
+        for (int tick = -ACTIVATION_TICKS; tick < ACTIVATION_TICKS; tick++) {
+            // The first half of the ticks warm up, and are not timed.
+            if (tick == 0) {
+                startTime = System.nanoTime();
+            }
+
+            float offset = Math.abs(tick) * step - SYSTEM_RADIUS * 2;
+            heroPosition.set(Math.abs(offset) - SYSTEM_RADIUS, offset * 0.5f);
+            activator.update(grid, heroPosition, enable, disable);
+            for (int i = 0; i < disable.size; i++) {
+                store.setEnabled(disable.get(i), false);
+            }
+            for (int i = 0; i < enable.size; i++) {
+                store.setEnabled(enable.get(i), true);
+            }
+        }
+        return (double) (System.nanoTime() - startTime) / ACTIVATION_TICKS;
+    }
+
+    private static long getUsedHeap() {
+        // Keep collecting until nothing more is freed, so that garbage from earlier runs is not counted.
+        Runtime runtime = Runtime.getRuntime();
+        long usedHeap = Long.MAX_VALUE;
+        for (int i = 0; i < 10; i++) {
+            System.gc();
+            long newUsedHeap = runtime.totalMemory() - runtime.freeMemory();
+            if (newUsedHeap >= usedHeap) {
+                break;
+            }
+            usedHeap = newUsedHeap;
+        }
+        return usedHeap;
+    }
+}
@@ -0,0 +1,118 @@
+/*
+ * Copyright 2026 The Terasology Foundation
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.destinationsol.warp.research.wormholes;
+
+import org.junit.jupiter.api.Test;
+
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.concurrent.ForkJoinPool;
+
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+/**
+ * Checks that the wormholes generated for a seed never change, however they are generated. The same galaxy must
+ * always get the same wormholes, whether they are generated all at once, in parallel or one system at a time as the
+ * hero explores, and from one version to the next.
+ *
+ * If the layout is changed on purpose, then the expected digests below need updating.
+ */
+public class WormholeNetworkLayoutTest {
+    private static final int SYSTEM_COUNT = 8;
+    private static final float SYSTEM_SPACING = 1000;
+    private static final float SYSTEM_RADIUS = 300;
+    private static final int WORMHOLE_COUNT = 400;
+    private static final float MIN_SEPARATION = 2;
+    private static final float SUN_DISTANCE = 5;
+    private static final float STABILITY = 10;
+    private static final long[] SEEDS = new long[] {1, 42, 20260101};
+    /**
+     * The length of the encoded network for each seed.
+     */
+    private static final int ENCODED_LENGTH = 6432;
+    /**
+     * The SHA-256 digest of the encoded network for each seed.
+     */
+    private static final String[] ENCODED_DIGESTS = new String[] {
+            "df2df25a1f286e8c94565dd1237029456573468e6068d6b896b9218512b58153",
+            "0864854b2df6628d9578ab01f63bbaba8842b61cfa13207b54c62df4480b7d28",
+            "87fa84846bd2241178347a1635ccabc249aeb8c651d1ae0166429ff7db63227e"
+    };
+
+    @Test
+    public void testLayoutIsUnchanged() {
+        for (int seedNo = 0; seedNo < SEEDS.length; seedNo++) {
+            byte[] encodedNetwork = WormholeNetworkCodec.encode(createGenerator(SEEDS[seedNo]).generate());
+            assertEquals(ENCODED_LENGTH, encodedNetwork.length, "Length for seed " + SEEDS[seedNo]);
+            assertEquals(ENCODED_DIGESTS[seedNo], getDigest(encodedNetwork), "Digest for seed " + SEEDS[seedNo]);
+        }
+    }
+
+    @Test
+    public void testParallelGenerationMatchesSequential() {
+        ForkJoinPool pool = new ForkJoinPool(4);
+        try {
+            for (long seed : SEEDS) {
+                byte[] sequentialNetwork = WormholeNetworkCodec.encode(createGenerator(seed).generate());
+                byte[] parallelNetwork = WormholeNetworkCodec.encode(createGenerator(seed).generate(pool));
+                assertArrayEquals(sequentialNetwork, parallelNetwork, "Parallel layout for seed " + seed);
+            }
+        } finally {
+            pool.shutdown();
+        }
+    }
+
+    @Test
+    public void testLazyGenerationMatchesSequential() {
+        for (long seed : SEEDS) {
+            byte[] sequentialNetwork = WormholeNetworkCodec.encode(createGenerator(seed).generate());
+
+            // Generate the systems in the opposite order to the sequential generation, as the hero might visit them.
+            WormholeNetwork lazyNetwork = createGenerator(seed).link();
+            for (int system = SYSTEM_COUNT - 1; system >= 0; system--) {
+                lazyNetwork.generateSystem(system);
+            }
+            assertArrayEquals(sequentialNetwork, WormholeNetworkCodec.encode(lazyNetwork),
+                    "Lazy layout for seed " + seed);
+        }
+    }
+
+    private static WormholeNetworkGenerator createGenerator(long seed) {
+        float[] x = new float[SYSTEM_COUNT];
+        float[] y = new float[SYSTEM_COUNT];
+        float[] radius = new float[SYSTEM_COUNT];
+        for (int system = 0; system < SYSTEM_COUNT; system++) {
+            x[system] = system * SYSTEM_SPACING;
+            y[system] = (system % 2) * SYSTEM_SPACING * 0.7f;
+            radius[system] = SYSTEM_RADIUS;
+        }
+        return new WormholeNetworkGenerator(GalaxySnapshot.createWithoutPlanets(x, y, radius), seed, WORMHOLE_COUNT,
+                WORMHOLE_COUNT + 1, MIN_SEPARATION, SUN_DISTANCE, STABILITY, new ShuffleWormholeLinker());
+    }
+
+    private static String getDigest(byte[] data) {
+        try {
+            StringBuilder digest = new StringBuilder();
+            for (byte digestByte : MessageDigest.getInstance("SHA-256").digest(data)) {
+                digest.append(String.format("%02x", digestByte));
+            }
+            return digest.toString();
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException(e);
+        }
+    }
+}